@@ -10,7 +10,6 @@ import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -18,6 +17,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
@@ -25,17 +25,24 @@ import org.reflections.Reflections;
 import org.reflections.scanners.MethodAnnotationsScanner;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
 import org.reflections.util.ConfigurationBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vue4j.config.ConfigManager;
 import org.vue4j.log.LogFilter;
 import org.vue4j.modules.Vue4JModuleConfig;
+import org.vue4j.modules.ModuleLifeCyclePhase;
+import org.vue4j.modules.ModuleStartupReport;
 import org.vue4j.modules.ModuleManager;
 import org.vue4j.modules.Vue4JModule;
 import org.vue4j.server.ServerModule;
 import org.vue4j.services.ServiceManager;
+import org.vue4j.utils.AnnotationIndex;
 import org.vue4j.utils.ClassUtils;
+import org.vue4j.utils.ReflectionsCache;
+import org.vue4j.utils.bo.BuildOrderExecutors;
+import org.vue4j.utils.bo.BuildOrderResult;
 import org.vue4j.utils.bo.BuildOrderUnsolvableException;
 
 public class Vue4J {
@@ -44,6 +51,11 @@ public class Vue4J {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(Vue4J.class);
 
+    /**
+     * Reflections scans cache file, relative to base directory.
+     */
+    private final static String REFLECTIONS_CACHE_FILE = "vue4j.reflections.cache";
+
     private final ConfigManager configManager;
     private final ModuleManager moduleManager;
     private final ServiceManager serviceManager;
@@ -89,9 +101,16 @@ public class Vue4J {
         LOGGER.debug("Build system configuration");
         systemConfig = configManager.buildSystemConfig(options.getConfigFile());
 
+        if (systemConfig.modulesVirtualThreads()) {
+            moduleManager.setModulesExecutor(BuildOrderExecutors.newVirtualThreadPerTaskExecutor(systemConfig.modulesParallelism()));
+        } else {
+            moduleManager.setModulesExecutor(BuildOrderExecutors.newFixedThreadPool(systemConfig.modulesParallelism()));
+        }
+        moduleManager.setLifeCycleEvents(systemConfig.modulesLifeCycleEvents());
+
         LOGGER.debug("Load modules configuration");
-        // Iterate over modules
-        forEachModules((module) -> {
+        // Iterate over modules, skipping modules depending on a module which failed to configure
+        rethrowPhaseFailure(ModuleLifeCyclePhase.CONFIGURE, moduleManager.forEachModulesChecked(ModuleLifeCyclePhase.CONFIGURE, (module) -> {
             module.setVue4J(this);
 
             // Get module configuration identifier and class
@@ -112,7 +131,8 @@ public class Vue4J {
             }
 
             module.initialize();
-        });
+            return !module.hasError();
+        }));
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Current expanded configuration:" + configManager.getExpandedYAMLConfig(systemConfig, moduleManager));
@@ -130,7 +150,8 @@ public class Vue4J {
             @Override
             public void run() {
                 try {
-                    shutdown();
+                    // Other shutdown hooks may still load classes, modules class loader is left open
+                    stopModules();
                 } catch (Exception ex) {
                     LOGGER.error("Error while shutting down Vue4J", ex);
                 }
@@ -139,24 +160,65 @@ public class Vue4J {
         Runtime.getRuntime().addShutdownHook(shutdownHook);
 
         LOGGER.debug("Enable required modules");
-        forEachModules((module) -> {
+        rethrowPhaseFailure(ModuleLifeCyclePhase.ACTIVATE, moduleManager.forEachModulesChecked(ModuleLifeCyclePhase.ACTIVATE, (module) -> {
             module.enable();
-        });
+            return !module.hasError();
+        }));
 
         LOGGER.debug("Auto-starting modules");
-        forEachModules((module) -> {
+        rethrowPhaseFailure(ModuleLifeCyclePhase.START, moduleManager.forEachModulesChecked(ModuleLifeCyclePhase.START, (module) -> {
             if (module.autoStart()) {
                 module.run();
             }
-        });
+            return !module.hasError();
+        }));
     }
 
     /**
-     * Shutdown application.
+     * Abort startup if a module failed during a lifecycle phase, with the exception thrown by the first failed module.
+     */
+    private static void rethrowPhaseFailure(ModuleLifeCyclePhase phase, BuildOrderResult<Vue4JModule> result) {
+        if (result.isSuccess()) {
+            return;
+        }
+
+        Set<Vue4JModule> failedModules = result.getFailedItems();
+        Throwable cause = result.getFirstFailure();
+        for (Vue4JModule module : failedModules) {
+            if (cause == null) {
+                cause = module.getLifeCycleError();
+            }
+        }
+
+        throw new RuntimeException("Modules " + phase + " phase failed for: "
+                + failedModules.stream().map(Vue4JModule::getID).collect(Collectors.joining(", ")), cause);
+    }
+
+    /**
+     * Shutdown application, stop all modules then release modules JAR files and executor.
      *
      * @throws Exception
      */
     public void shutdown() throws Exception {
+        if (shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ex) {
+                // JVM is already shutting down
+            }
+            shutdownHook = null;
+        }
+
+        stopModules();
+
+        // Release modules JAR files and executor
+        moduleManager.close();
+    }
+
+    /**
+     * Stop and clean all modules.
+     */
+    private void stopModules() throws BuildOrderUnsolvableException {
         LOGGER.debug("Stop instance");
 
         // Stop all modules
@@ -168,7 +230,6 @@ public class Vue4J {
         forEachModulesReverse(module -> {
             module.clean();
         });
-
     }
 
     /**
@@ -211,9 +272,39 @@ public class Vue4J {
     }
 
     /**
-     * Build reflection instance by adding all modules JAR to class loader and initialize Reflections library with them.
+     * Index of annotated classes read from modules index files.
      */
-    private void buildReflections() throws BuildOrderUnsolvableException {
+    private AnnotationIndex annotationIndex;
+
+    /**
+     * Reflections instance limited to modules without annotation index.
+     */
+    private Reflections unindexedReflections;
+
+    /**
+     * Return index of annotated classes, reading it if needed.
+     *
+     * @return Annotation index of modules
+     */
+    public AnnotationIndex getAnnotationIndex() {
+        if (annotationIndex == null) {
+            try {
+                Set<URL> urlsToScan = getURLsToScan();
+                if (urlsToScan.isEmpty()) {
+                    urlsToScan = new HashSet<>(ClasspathHelper.forPackage("", Vue4J.getClassLoader()));
+                }
+                annotationIndex = AnnotationIndex.read(urlsToScan);
+            } catch (BuildOrderUnsolvableException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+        return annotationIndex;
+    }
+
+    /**
+     * Return modules JAR and classes directories URLs to scan, adding them to modules class loader.
+     */
+    private Set<URL> getURLsToScan() throws BuildOrderUnsolvableException {
         LOGGER.debug("Initialize JAR URLs to scan by reflection");
         Set<URL> urlsToScan = this.moduleManager.getModulesURLs();
 
@@ -230,7 +321,8 @@ public class Vue4J {
         }).collect(Collectors.toSet());
 
         LOGGER.debug("Extra module JAR files registring for static instance");
-        Set<URL> jarModulesURLs = new HashSet<>();
+        // Modules actions run concurrently on build order executor
+        Set<URL> jarModulesURLs = ConcurrentHashMap.newKeySet();
         forEachModules(m -> {
             File jarFile = ClassUtils.getJarFile(m.getClass());
 
@@ -248,23 +340,64 @@ public class Vue4J {
 
         urlsToScan.addAll(jarModulesURLs);
 
-        ConfigurationBuilder builder;
         if (!urlsToScan.isEmpty()) {
+            // Add modules classes locations to modules class loader
+            moduleManager.getClassLoader().addURLs(urlsToScan);
+            LOGGER.debug("Module registred, jar URLs added to classpath");
+        }
 
-            // Load dependencies through URL Class Loader based on actual class loader
-            if (urlsToScan.size() > 0) {
-                URLClassLoader classLoader = new URLClassLoader(
-                        urlsToScan.toArray(new URL[urlsToScan.size()]),
-                        Thread.currentThread().getContextClassLoader()
-                );
-                LOGGER.debug("Module registred, jar URLs added to classpath");
+        return urlsToScan;
+    }
 
-                // Set the newly created class loader as the main one
-                Thread.currentThread().setContextClassLoader(classLoader);
-            } else {
-                LOGGER.debug("No external module found !");
+    /**
+     * Build reflection instance by adding all modules JAR to class loader and initialize Reflections library with them.
+     */
+    private void buildReflections() throws BuildOrderUnsolvableException {
+        reflections = scanReflections(getURLsToScan());
+    }
+
+    /**
+     * Cache of modules JAR scans, read on first scan.
+     */
+    private ReflectionsCache reflectionsCache;
+
+    /**
+     * Build a reflections instance for given URLs, only scanning JAR files which are not in reflections cache.
+     *
+     * @param urlsToScan JAR files or classes directories URLs
+     * @return Reflections instance
+     */
+    private Reflections scanReflections(Set<URL> urlsToScan) {
+        if (urlsToScan.isEmpty()) {
+            return buildReflections(urlsToScan);
+        }
+
+        Path cacheFile = options.getBaseDirectory().resolve(REFLECTIONS_CACHE_FILE);
+        if (reflectionsCache == null) {
+            reflectionsCache = ReflectionsCache.read(cacheFile);
+        }
+
+        Reflections scanReflections = reflectionsCache.getReflections(urlsToScan, BuildOrderExecutors.getDefaultExecutor());
+        if (reflectionsCache.isModified()) {
+            try {
+                reflectionsCache.write(cacheFile);
+            } catch (IOException ex) {
+                LOGGER.error("Error while writing reflections cache", ex);
             }
+        }
+
+        return scanReflections;
+    }
 
+    /**
+     * Build a reflections instance scanning given URLs or whole class path if empty.
+     *
+     * @param urlsToScan JAR files or classes directories URLs
+     * @return Reflections instance
+     */
+    public static Reflections buildReflections(Set<URL> urlsToScan) {
+        ConfigurationBuilder builder;
+        if (!urlsToScan.isEmpty()) {
             builder = ConfigurationBuilder.build("", Vue4J.getClassLoader())
                     .setUrls(urlsToScan)
                     .setScanners(new TypeAnnotationsScanner(), new SubTypesScanner(), new MethodAnnotationsScanner())
@@ -275,17 +408,32 @@ public class Vue4J {
                     .setExpandSuperTypes(false);
         }
 
-        reflections = new Reflections(builder);
+        return new Reflections(builder);
     }
 
     /**
      * Helper method to get annoted class list in application.
      *
+     * Indexed annotations are read from modules annotation index, only modules without index are scanned.
+     *
      * @param annotation Annotation to look at
      * @return Map of found annotated classes indexed by name
      */
     public Map<String, Class<?>> getAnnotatedClassesMap(Class<? extends Annotation> annotation) {
-        return getAnnotatedClassesMap(annotation, getReflections());
+        AnnotationIndex index = getAnnotationIndex();
+        if (!index.isIndexed(annotation)) {
+            return getAnnotatedClassesMap(annotation, getReflections());
+        }
+
+        Map<String, Class<?>> classMap = index.getAnnotatedClasses(annotation, Vue4J.getClassLoader());
+        if (!index.getUnindexedURLs().isEmpty()) {
+            if (unindexedReflections == null) {
+                unindexedReflections = scanReflections(index.getUnindexedURLs());
+            }
+            classMap.putAll(getAnnotatedClassesMap(annotation, unindexedReflections));
+        }
+
+        return classMap;
     }
 
     /**
@@ -334,7 +482,8 @@ public class Vue4J {
             ConfigManager cfgManager = new ConfigManager();
 
             LOGGER.debug("Create modules manager");
-            ModuleManager modManager = new ModuleManager(options.getBaseDirectory());
+            ModuleManager modManager = new ModuleManager(options.getBaseDirectory(), options.isOffline());
+            modManager.setIgnoredModules(options.getIgnoredModules());
 
             LOGGER.debug("Create service manager");
             ServiceManager srvManager = new ServiceManager(cfgManager);
@@ -385,6 +534,27 @@ public class Vue4J {
         return Thread.currentThread().getContextClassLoader();
     }
 
+    /**
+     * Return timings of modules lifecycle phases executed by configure and start.
+     *
+     * @return Startup report, null if instance is not configured
+     */
+    public ModuleStartupReport getModuleStartupReport() {
+        return moduleManager.getStartupReport();
+    }
+
+    /**
+     * Copy modules with all their dependencies to an offline repository, to be used by instances started in offline
+     * mode.
+     *
+     * @param directory Offline repository directory
+     * @return Number of exported modules
+     * @throws IOException In case of file access issues
+     */
+    public int exportOfflineRepository(Path directory) throws IOException {
+        return moduleManager.exportOfflineRepository(directory);
+    }
+
     public <T> T getModule(Class<T> moduleClass) {
         return moduleManager.getModule(moduleClass);
     }
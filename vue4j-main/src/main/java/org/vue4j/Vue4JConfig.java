@@ -12,4 +12,22 @@ public interface Vue4JConfig {
     )
     public String defaultLanguage();
 
+    @ConfigDescription(
+            value = "Maximum number of modules lifecycle actions executed in parallel, use available processors count if 0",
+            defaultInt = 0
+    )
+    public int modulesParallelism();
+
+    @ConfigDescription(
+            value = "Execute modules lifecycle actions on virtual threads if supported by the JVM (Java 21+)",
+            defaultBoolean = false
+    )
+    public boolean modulesVirtualThreads();
+
+    @ConfigDescription(
+            value = "Emit a Java Flight Recorder event for each module lifecycle phase",
+            defaultBoolean = false
+    )
+    public boolean modulesLifeCycleEvents();
+
 }
@@ -4,8 +4,11 @@ import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vue4j.config.ConfigProfile;
@@ -34,6 +37,16 @@ public class Vue4JOptions {
 
     private final boolean debug;
 
+    public final static String OFFLINE_ENV_KEY = "VUE4J_OFFLINE";
+    public final static String OFFLINE_ARG_KEY = "OFFLINE";
+
+    private final boolean offline;
+
+    public final static String IGNORED_MODULES_ENV_KEY = "VUE4J_IGNORED_MODULES";
+    public final static String IGNORED_MODULES_ARG_KEY = "IGNORED_MODULES";
+
+    private final Set<String> ignoredModules;
+
     private final List<String> args;
 
     private Vue4JOptions(
@@ -41,12 +54,16 @@ public class Vue4JOptions {
             File configFile,
             ConfigProfile configProfile,
             boolean debug,
+            boolean offline,
+            Set<String> ignoredModules,
             List<String> args
     ) {
         this.baseDirectory = baseDirectory;
         this.configFile = configFile;
         this.configProfile = configProfile;
         this.debug = debug;
+        this.offline = offline;
+        this.ignoredModules = Collections.unmodifiableSet(ignoredModules);
         this.args = args;
     }
 
@@ -70,6 +87,24 @@ public class Vue4JOptions {
         return debug;
     }
 
+    /**
+     * Check if modules dependencies must be resolved only from offline repository of base directory.
+     *
+     * @return true for offline mode
+     */
+    public boolean isOffline() {
+        return offline;
+    }
+
+    /**
+     * Return class names of modules which must not be loaded.
+     *
+     * @return Ignored modules class names
+     */
+    public Set<String> getIgnoredModules() {
+        return ignoredModules;
+    }
+
     public List<String> getArgs() {
         return args;
     }
@@ -104,6 +139,9 @@ public class Vue4JOptions {
         String configProfileId = System.getenv(CONFIG_PROFILE_ENV_KEY);
 
         boolean debug = false;
+        String offlineValue = System.getenv(OFFLINE_ENV_KEY);
+        boolean offline = offlineValue != null && !offlineValue.equalsIgnoreCase("false");
+        String ignoredModulesValue = System.getenv(IGNORED_MODULES_ENV_KEY);
 
         // Override with command line arguments values
         for (String arg : args) {
@@ -120,6 +158,12 @@ public class Vue4JOptions {
                 // For configuration file
                 debug = true;
 
+            } else if (arg.equals("--" + OFFLINE_ARG_KEY) || arg.startsWith("--" + OFFLINE_ARG_KEY + "=")) {
+                // For offline dependencies resolution
+                offline = !arg.equalsIgnoreCase("--" + OFFLINE_ARG_KEY + "=false");
+            } else if (arg.startsWith("--" + IGNORED_MODULES_ARG_KEY + "=")) {
+                // For ignored modules, comma separated class names
+                ignoredModulesValue = arg.split("=", 2)[1];
             } else {
                 // Otherwise add argument to the remaining list
                 cliArgsList.add(arg);
@@ -155,11 +199,22 @@ public class Vue4JOptions {
             }
         }
 
+        Set<String> ignoredModules = new LinkedHashSet<>();
+        if (ignoredModulesValue != null) {
+            for (String ignoredModule : ignoredModulesValue.split(",")) {
+                if (!ignoredModule.isBlank()) {
+                    ignoredModules.add(ignoredModule.trim());
+                }
+            }
+        }
+
         return new Vue4JOptions(
                 Paths.get(baseDirectory),
                 cfgFile,
                 configProfile,
                 debug,
+                offline,
+                ignoredModules,
                 cliArgsList
         );
     }
@@ -2,6 +2,7 @@ package org.vue4j.cli;
 
 import java.io.File;
 import java.io.FileReader;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -10,6 +11,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vue4j.Vue4J;
 import org.vue4j.Vue4JOptions;
+import org.vue4j.modules.ModuleStartupReport;
+import org.vue4j.modules.OfflineArtifactStore;
 import org.vue4j.modules.Vue4JModule;
 import org.vue4j.utils.ClassUtils;
 import picocli.CommandLine;
@@ -17,6 +20,7 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.IVersionProvider;
 import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
 
 /**
  * This class is the main entry point for the CLI application.
@@ -93,6 +97,7 @@ public class MainCommand extends AbstractCommand implements IVersionProvider {
                 commands.forEach((Vue4JCommand cmd) -> {
                     cmd.setVue4J(instance);
                 });
+                ((MainCommand) cli.getCommand()).setVue4J(instance);
             }
         } catch (CommandLine.ParameterException ex) {
             // Silently ignore parameter exceptions meaning help will be printed
@@ -199,4 +204,55 @@ public class MainCommand extends AbstractCommand implements IVersionProvider {
             LOGGER.debug("Exception raised:", ex);
         }
     }
+
+    /**
+     * Display duration of each module lifecycle phase executed at startup with critical paths.
+     *
+     * @param json Flag to output report as JSON
+     * @param help Helper parameter to allow help usage display for this command
+     * @throws Exception Propagate any exception that could occurs
+     */
+    @Command(
+            name = "startup-report",
+            header = "Display modules startup timings",
+            description = "Display duration of each module configuration, activation and start with critical path of each phase"
+    )
+    public void startupReport(
+            @Option(
+                    names = {"--json"},
+                    description = "Output report as JSON",
+                    defaultValue = "false"
+            ) boolean json,
+            @Mixin HelpOption help) throws Exception {
+        ModuleStartupReport report = getVue4J().getModuleStartupReport();
+        if (report == null) {
+            System.out.println("No modules startup report available");
+        } else if (json) {
+            System.out.println(report.toJSON());
+        } else {
+            System.out.print(report.toText());
+        }
+    }
+
+    /**
+     * Copy modules dependencies to an offline repository for nodes without network access.
+     *
+     * @param directory Offline repository directory
+     * @param help Helper parameter to allow help usage display for this command
+     * @throws Exception Propagate any exception that could occurs
+     */
+    @Command(
+            name = "offline-repository",
+            header = "Populate offline repository",
+            description = "Copy modules dependencies to an offline repository, used when starting with --" + Vue4JOptions.OFFLINE_ARG_KEY + " option"
+    )
+    public void offlineRepository(
+            @Parameters(description = "Offline repository directory (default: offline-repository in base directory)", defaultValue = "") Path directory,
+            @Mixin HelpOption help) throws Exception {
+        if (directory.toString().equals("")) {
+            directory = getVue4J().getBaseDirectory().resolve(OfflineArtifactStore.DEFAULT_DIRECTORY);
+        }
+        int moduleCount = getVue4J().exportOfflineRepository(directory);
+        System.out.println(moduleCount + " modules dependencies copied to offline repository: " + directory.toAbsolutePath());
+    }
 }
@@ -12,7 +12,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -133,11 +132,7 @@ public class ConfigManager {
         if (ClassUtils.isPrimitive(configClass)) {
             config = (T) ConfigProxyHandler.getPrimitive(key, root, null);
         } else {
-            config = (T) Proxy.newProxyInstance(
-                    Vue4J.getClassLoader(),
-                    new Class<?>[]{configClass},
-                    new ConfigProxyHandler(key, root.deepCopy(), yamlMapper)
-            );
+            config = newConfigProxy(configClass, key, root.deepCopy(), yamlMapper);
         }
         return config;
     }
@@ -172,11 +167,7 @@ public class ConfigManager {
         if (ClassUtils.isPrimitive(configClass)) {
             config = (T) ConfigProxyHandler.getPrimitive(configClass.getCanonicalName(), baseNode.at("/" + finalKey), null);
         } else {
-            config = (T) Proxy.newProxyInstance(
-                    Vue4J.getClassLoader(),
-                    new Class<?>[]{configClass},
-                    new ConfigProxyHandler(finalKey, baseNode.deepCopy(), yamlMapper)
-            );
+            config = newConfigProxy(configClass, finalKey, baseNode.deepCopy(), yamlMapper);
         }
         return config;
     }
@@ -208,11 +199,25 @@ public class ConfigManager {
             }
         }
 
-        return (Vue4JConfig) Proxy.newProxyInstance(
-                Vue4J.getClassLoader(),
-                new Class<?>[]{Vue4JConfig.class},
-                new ConfigProxyHandler(Vue4JConfig.YAML_KEY, systemRoot.deepCopy(), systemMapper)
-        );
+        return newConfigProxy(Vue4JConfig.class, Vue4JConfig.YAML_KEY, systemRoot.deepCopy(), systemMapper);
+    }
+
+    /**
+     * Create a configuration interface instance, failing if any of its values is invalid.
+     *
+     * @param <T> Configuration interface
+     * @param configClass Configuration interface
+     * @param key Configuration key
+     * @param node Configuration node
+     * @param mapper Yaml mapper
+     * @return Configuration interface instance
+     */
+    private static <T> T newConfigProxy(Class<T> configClass, String key, JsonNode node, ObjectMapper mapper) {
+        try {
+            return ConfigProxyHandler.newProxy(configClass, key, node, mapper);
+        } catch (InvalidConfigException ex) {
+            throw new RuntimeException("Invalid configuration for: " + key, ex);
+        }
     }
 
     /**
@@ -252,7 +257,7 @@ public class ConfigManager {
 
             ConfigProfile extensionProfil = ConfigProfile.valueOf(extensionId.toUpperCase());
 
-            moduleManager.getBuildOrder().execute((Vue4JModule module) -> {
+            moduleManager.forEachModulesSync((Vue4JModule module) -> {
                 InputStream prodFile = module.getConfigFile(ConfigProfile.PROD.getProfileID());
                 if (prodFile != null) {
                     try {
@@ -5,10 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -18,7 +20,14 @@ import org.vue4j.Vue4J;
 import org.vue4j.utils.ClassUtils;
 
 /**
- * Proxy class to transform configuration interfaces into real objects, reading directly from loaded configuration.
+ * Proxy class to transform configuration interfaces into real objects.
+ *
+ * <pre>
+ * All configuration values of the interface are resolved once when proxy is
+ * created, including nested lists, maps and interfaces, so invalid
+ * configuration is detected on loading and each method call only returns its
+ * resolved value.
+ * </pre>
  *
  * @author Vincent Migot
  */
@@ -45,13 +54,25 @@ public class ConfigProxyHandler implements InvocationHandler {
     private final ObjectMapper yamlMapper;
 
     /**
-     * Constructor.
+     * Configuration interface.
+     */
+    private final Class<?> configClass;
+
+    /**
+     * Resolved values by interface method.
+     */
+    private final Map<Method, Object> values;
+
+    /**
+     * Constructor resolving all configuration values of interface.
      *
      * @param key base key
      * @param rootNode Global configuration
      * @param yamlMapper Taml mapper
+     * @param configClass Configuration interface
+     * @throws InvalidConfigException If a configuration value is invalid
      */
-    public ConfigProxyHandler(String key, JsonNode rootNode, ObjectMapper yamlMapper) {
+    public ConfigProxyHandler(String key, JsonNode rootNode, ObjectMapper yamlMapper, Class<?> configClass) throws InvalidConfigException {
         if (key.startsWith("/") || key.isEmpty()) {
             this.baseKey = key + "/";
         } else {
@@ -59,13 +80,57 @@ public class ConfigProxyHandler implements InvocationHandler {
         }
         this.rootNode = rootNode;
         this.yamlMapper = yamlMapper;
+        this.configClass = configClass;
+
+        Map<Method, Object> resolvedValues = new HashMap<>();
+        for (Method method : configClass.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 0) {
+                resolvedValues.put(method, nodeToObject(method.getGenericReturnType(), baseKey + method.getName(), rootNode, method));
+            }
+        }
+        this.values = Collections.unmodifiableMap(resolvedValues);
+    }
+
+    /**
+     * Create a configuration interface instance with all its values resolved.
+     *
+     * @param <T> Configuration interface
+     * @param configClass Configuration interface
+     * @param key base key
+     * @param rootNode Global configuration
+     * @param yamlMapper Yaml mapper
+     * @return Configuration interface instance
+     * @throws InvalidConfigException If a configuration value is invalid
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T newProxy(Class<T> configClass, String key, JsonNode rootNode, ObjectMapper yamlMapper) throws InvalidConfigException {
+        return (T) Proxy.newProxyInstance(Vue4J.getClassLoader(),
+                new Class<?>[]{configClass},
+                new ConfigProxyHandler(key, rootNode, yamlMapper, configClass)
+        );
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws InvalidConfigException {
-        String key = baseKey + method.getName();
+        Object value = values.get(method);
+        if (value != null || values.containsKey(method)) {
+            return value;
+        }
 
-        return nodeToObject(method.getGenericReturnType(), key, rootNode, method);
+        if (method.getDeclaringClass().equals(Object.class)) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return configClass.getName() + "(" + baseKey + ")";
+                default:
+                    break;
+            }
+        }
+
+        throw new InvalidConfigException("Can't get configuration property: " + baseKey + method.getName());
     }
 
     /**
@@ -428,15 +493,11 @@ public class ConfigProxyHandler implements InvocationHandler {
             list.add(nodeToObject(genericParameter, "", node, method));
         }
 
-        return list;
+        return Collections.unmodifiableList(list);
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> T getInterface(Class<T> interfaceClass, String key, JsonNode node) {
-        return (T) Proxy.newProxyInstance(Vue4J.getClassLoader(),
-                new Class<?>[]{interfaceClass},
-                new ConfigProxyHandler(key, node, yamlMapper)
-        );
+    private <T> T getInterface(Class<T> interfaceClass, String key, JsonNode node) throws InvalidConfigException {
+        return newProxy(interfaceClass, key, node, yamlMapper);
     }
 
     /**
@@ -467,7 +528,7 @@ public class ConfigProxyHandler implements InvocationHandler {
             map.put(node.getKey(), nodeToObject(genericParameter, "", node.getValue(), method));
         }
 
-        return map;
+        return Collections.unmodifiableMap(map);
     }
 
     private Class<?> getClassDefinition(JsonNode value, Method method) throws ClassNotFoundException {
@@ -480,7 +541,8 @@ public class ConfigProxyHandler implements InvocationHandler {
                 return null;
             }
         } else {
-            return Class.forName(className, true, Vue4J.getClassLoader());
+            // Class is initialized on first use only, as with class literals
+            return Class.forName(className, false, Vue4J.getClassLoader());
         }
     }
 }
@@ -1,12 +1,7 @@
 package org.vue4j.model;
 
-import com.github.jsonldjava.shaded.com.google.common.reflect.TypeToken;
-import com.google.gson.Gson;
-import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 
 public class FieldModel {
@@ -81,6 +76,14 @@ public class FieldModel {
         this.restrictions = restrictions;
     }
 
+    /**
+     * Return a shallow copy of this field.
+     *
+     * Names and restrictions collections are shared with the copy, they must be replaced through setters instead of
+     * being modified in place.
+     *
+     * @return field copy
+     */
     public FieldModel getCopy() {
         FieldModel inheritedCopy = new FieldModel();
         inheritedCopy.setId(this.getId());
@@ -88,30 +91,10 @@ public class FieldModel {
         inheritedCopy.setInherited(this.isInherited());
         inheritedCopy.setRequired(this.isRequired());
         inheritedCopy.setMaxCardinality(this.getMaxCardinality());
-        inheritedCopy.setNames(deepCopyMap(this.getNames()));
-        inheritedCopy.setRestrictions(deepCopyCollection(this.getRestrictions()));
+        inheritedCopy.setNames(this.getNames());
+        inheritedCopy.setRestrictions(this.getRestrictions());
 
         return inheritedCopy;
     }
 
-    private static <T> Map<String, T> deepCopyMap(Map<String, T> map) {
-        Gson gson = new Gson();
-        String jsonString = gson.toJson(map);
-
-        Type type = new TypeToken<HashMap<String, T>>() {
-        }.getType();
-
-        return gson.fromJson(jsonString, type);
-    }
-
-    private static <T> Collection<T> deepCopyCollection(Collection<T> collection) {
-        Gson gson = new Gson();
-        String jsonString = gson.toJson(collection);
-
-        Type type = new TypeToken<HashSet<T>>() {
-        }.getType();
-
-        return gson.fromJson(jsonString, type);
-    }
-
 }
@@ -0,0 +1,110 @@
+package org.vue4j.model;
+
+/**
+ * Immutable snapshot of {@link TypeModelCache} statistics.
+ *
+ * @author Vincent Migot
+ */
+public class TypeCacheStatistics {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long loadSuccessCount;
+
+    private final long loadFailureCount;
+
+    private final long totalLoadTime;
+
+    private final long evictionCount;
+
+    private final int size;
+
+    public TypeCacheStatistics(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount, long totalLoadTime, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Number of lookups served from the cache, including lookups which waited for a load started by another thread.
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Number of lookups which triggered a type load.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * Cumulated time spent loading types, in nanoseconds.
+     *
+     * @return total load time
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        if (requestCount == 0) {
+            return 1.0;
+        }
+        return (double) hitCount / requestCount;
+    }
+
+    /**
+     * Average time spent loading a type, in nanoseconds.
+     *
+     * @return average load time
+     */
+    public double getAverageLoadTime() {
+        long loadCount = loadSuccessCount + loadFailureCount;
+        if (loadCount == 0) {
+            return 0.0;
+        }
+        return (double) totalLoadTime / loadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeCacheStatistics{"
+                + "hitCount=" + hitCount
+                + ", missCount=" + missCount
+                + ", loadSuccessCount=" + loadSuccessCount
+                + ", loadFailureCount=" + loadFailureCount
+                + ", totalLoadTime=" + totalLoadTime
+                + ", evictionCount=" + evictionCount
+                + ", size=" + size
+                + "}";
+    }
+}
@@ -0,0 +1,290 @@
+package org.vue4j.model;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <pre>
+ * Index of loaded types hierarchy using interval numbering.
+ *
+ * Each type owns an interval containing the intervals of all its descendants,
+ * so subtype checks are done in constant time and descendants listing in
+ * logarithmic time. Intervals are allocated with gaps so that a new type,
+ * always added as a leaf since parents are loaded first, takes half of the
+ * free space of its parent interval. Whole tree is renumbered only when this
+ * space is exhausted.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class TypeHierarchyIndex {
+
+    /**
+     * Minimum free space in a parent interval to allocate a child interval without renumbering.
+     */
+    private final static long MIN_FREE_SPACE = 4;
+
+    private final IndexNode root = new IndexNode(null, null);
+
+    private final Map<URI, IndexNode> nodes = new HashMap<>();
+
+    private final NavigableMap<Long, IndexNode> nodesByLow = new TreeMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TypeHierarchyIndex() {
+        root.low = 0;
+        root.high = Long.MAX_VALUE;
+        root.lastAllocated = 0;
+    }
+
+    /**
+     * Add a type with all its ancestors if not already indexed.
+     *
+     * @param type Type to index
+     */
+    public void add(TypeModel type) {
+        lock.readLock().lock();
+        try {
+            if (nodes.containsKey(type.getUri())) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            addNode(type);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a type and all its indexed descendants.
+     *
+     * @param uri Type URI
+     */
+    public void remove(URI uri) {
+        lock.writeLock().lock();
+        try {
+            IndexNode node = nodes.get(uri);
+            if (node == null) {
+                return;
+            }
+
+            node.parent.children.remove(node);
+            List<IndexNode> removedNodes = new ArrayList<>(nodesByLow.subMap(node.low, true, node.high, true).values());
+            for (IndexNode removedNode : removedNodes) {
+                nodes.remove(removedNode.uri);
+                nodesByLow.remove(removedNode.low);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all types.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            nodes.clear();
+            nodesByLow.clear();
+            root.children.clear();
+            root.lastAllocated = root.low;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(URI uri) {
+        lock.readLock().lock();
+        try {
+            return nodes.containsKey(uri);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Check if a type is equal to or a descendant of another one.
+     *
+     * @param uri Type URI
+     * @param parentURI Potential ancestor type URI
+     * @return true if both types are indexed and type is parent type or one of its descendants
+     */
+    public boolean isSubTypeOf(URI uri, URI parentURI) {
+        lock.readLock().lock();
+        try {
+            IndexNode node = nodes.get(uri);
+            IndexNode parentNode = nodes.get(parentURI);
+            if (node == null || parentNode == null) {
+                return false;
+            }
+
+            return parentNode.low <= node.low && node.high <= parentNode.high;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return ancestors of a type from its direct parent up to its root type.
+     *
+     * @param uri Type URI
+     * @return Ancestors URI, empty if type is not indexed
+     */
+    public List<URI> getAncestors(URI uri) {
+        lock.readLock().lock();
+        try {
+            IndexNode node = nodes.get(uri);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+
+            List<URI> ancestors = new ArrayList<>();
+            for (IndexNode ancestor = node.parent; ancestor != root; ancestor = ancestor.parent) {
+                ancestors.add(ancestor.uri);
+            }
+            return ancestors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return all indexed descendants of a type, in pre-order.
+     *
+     * @param uri Type URI
+     * @return Descendants URI, empty if type is not indexed
+     */
+    public List<URI> getDescendants(URI uri) {
+        lock.readLock().lock();
+        try {
+            IndexNode node = nodes.get(uri);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+
+            List<URI> descendants = new ArrayList<>();
+            nodesByLow.subMap(node.low, false, node.high, true).values().forEach((descendant) -> {
+                descendants.add(descendant.uri);
+            });
+            return descendants;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IndexNode addNode(TypeModel type) {
+        IndexNode node = nodes.get(type.getUri());
+        if (node != null) {
+            return node;
+        }
+
+        IndexNode parent = root;
+        if (type.getParent() != null) {
+            parent = addNode(type.getParent());
+        }
+
+        node = new IndexNode(type.getUri(), parent);
+        parent.children.add(node);
+        nodes.put(node.uri, node);
+
+        long freeSpace = parent.high - parent.lastAllocated;
+        if (freeSpace < MIN_FREE_SPACE) {
+            renumber();
+        } else {
+            node.low = parent.lastAllocated + 1;
+            node.high = node.low + freeSpace / 2 - 1;
+            node.lastAllocated = node.low;
+            parent.lastAllocated = node.high;
+            nodesByLow.put(node.low, node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Renumber all types, giving each one an interval proportional to its number of descendants with as much free
+     * space for new children.
+     */
+    private void renumber() {
+        int rootSize = computeSize(root);
+        long unit = Long.MAX_VALUE / (2L * rootSize);
+
+        nodesByLow.clear();
+        assignInterval(root, 0, Long.MAX_VALUE, unit);
+    }
+
+    private int computeSize(IndexNode node) {
+        int size = 1;
+        for (IndexNode child : node.children) {
+            size += computeSize(child);
+        }
+        node.size = size;
+
+        return size;
+    }
+
+    private void assignInterval(IndexNode node, long low, long high, long unit) {
+        node.low = low;
+        node.high = high;
+        if (node != root) {
+            nodesByLow.put(low, node);
+        }
+
+        long cursor = low;
+        for (IndexNode child : node.children) {
+            long span = 2 * child.size * unit;
+            assignInterval(child, cursor + 1, cursor + span, unit);
+            cursor += span;
+        }
+        node.lastAllocated = cursor;
+    }
+
+    private static class IndexNode {
+
+        private final URI uri;
+
+        private final IndexNode parent;
+
+        private final List<IndexNode> children = new ArrayList<>();
+
+        private long low;
+
+        private long high;
+
+        /**
+         * Upper bound of the last interval allocated to a child, or low bound if none.
+         */
+        private long lastAllocated;
+
+        private int size;
+
+        private IndexNode(URI uri, IndexNode parent) {
+            this.uri = uri;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package org.vue4j.model;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <pre>
+ * Thread-safe cache of loaded types, bounded by size and time to live.
+ *
+ * Loading is single-flight: when several threads ask for the same type, only
+ * the first one runs the loader while the others wait for its result.
+ * Parent links of loaded types are tracked so that a type can be invalidated
+ * with all its descendants. Evicted or expired types are removed with their
+ * descendants too, which reference them as parent and could otherwise no
+ * longer be reached when invalidating an ancestor.
+ * Loaded types are kept in access order so that least recently used ones are
+ * evicted first without sorting all entries.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class TypeModelCache {
+
+    /**
+     * Default maximum number of cached types.
+     */
+    public final static int DEFAULT_MAX_SIZE = 10000;
+
+    /**
+     * Default time to live of a cached type.
+     */
+    public final static Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(1);
+
+    private final int maxSize;
+
+    private final long timeToLive;
+
+    private final Map<URI, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    private final Map<URI, Set<URI>> childrenByParent = new ConcurrentHashMap<>();
+
+    /**
+     * Loaded entries from least to most recently used, guarded by itself.
+     */
+    private final LinkedHashMap<URI, CacheEntry> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Type currently awaited by each thread waiting on a load owned by another thread, used to detect cross-thread
+     * cycles which would otherwise dead lock.
+     */
+    private final Map<Thread, URI> awaitedTypes = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public TypeModelCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize Maximum number of cached types
+     * @param timeToLive Duration after which a cached type is reloaded
+     */
+    public TypeModelCache(int maxSize, Duration timeToLive) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Type cache max size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive.toNanos();
+    }
+
+    /**
+     * Return cached type or load it with the given loader.
+     *
+     * @param uri Type URI
+     * @param loader Type loader called at most once per URI at a time
+     * @return Loaded type
+     * @throws TypeCyclicDependencyException if the type is already being loaded by the current dependency chain
+     */
+    public TypeModel get(URI uri, Function<URI, TypeModel> loader) {
+        while (true) {
+            CacheEntry entry = entries.get(uri);
+            if (entry != null) {
+                if (entry.isExpired(System.nanoTime())) {
+                    if (entries.remove(uri, entry)) {
+                        evictionCount.increment();
+                        removeLinks(uri, entry);
+                        removeDescendants(uri);
+                    }
+                    continue;
+                }
+
+                hitCount.increment();
+                return await(uri, entry);
+            }
+
+            CacheEntry newEntry = new CacheEntry(Thread.currentThread());
+            if (entries.putIfAbsent(uri, newEntry) == null) {
+                missCount.increment();
+                return load(uri, newEntry, loader);
+            }
+        }
+    }
+
+    /**
+     * Return cached type if present and not expired without triggering any load.
+     *
+     * @param uri Type URI
+     * @return Cached type or null
+     */
+    public TypeModel getIfPresent(URI uri) {
+        CacheEntry entry = entries.get(uri);
+        if (entry == null || !entry.future.isDone() || entry.future.isCompletedExceptionally() || entry.isExpired(System.nanoTime())) {
+            return null;
+        }
+
+        return entry.future.join();
+    }
+
+    /**
+     * Add an already built type to the cache unless it's already present or being loaded.
+     *
+     * @param type Type to add, its parent should be added before
+     * @return true if type was added
+     */
+    public boolean put(TypeModel type) {
+        CacheEntry entry = new CacheEntry(Thread.currentThread());
+        if (entries.putIfAbsent(type.getUri(), entry) != null) {
+            return false;
+        }
+
+        registerParent(type);
+        entry.complete(type, System.nanoTime() + timeToLive);
+        addToAccessOrder(type.getUri(), entry);
+        evictIfNeeded();
+
+        return true;
+    }
+
+    /**
+     * Return all loaded and not expired types.
+     *
+     * @return Cached types
+     */
+    public List<TypeModel> getAll() {
+        long now = System.nanoTime();
+        List<TypeModel> types = new ArrayList<>();
+        entries.values().forEach((entry) -> {
+            if (entry.future.isDone() && !entry.future.isCompletedExceptionally() && !entry.isExpired(now)) {
+                types.add(entry.future.join());
+            }
+        });
+
+        return types;
+    }
+
+    /**
+     * Evict a type and all its known descendants.
+     *
+     * @param uri Type URI
+     */
+    public void invalidate(URI uri) {
+        CacheEntry entry = entries.remove(uri);
+        if (entry != null) {
+            removeLinks(uri, entry);
+        }
+        removeDescendants(uri);
+    }
+
+    /**
+     * Evict all types.
+     */
+    public void invalidateAll() {
+        synchronized (accessOrder) {
+            accessOrder.clear();
+        }
+        entries.clear();
+        childrenByParent.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public TypeCacheStatistics getStatistics() {
+        return new TypeCacheStatistics(
+                hitCount.sum(),
+                missCount.sum(),
+                loadSuccessCount.sum(),
+                loadFailureCount.sum(),
+                totalLoadTime.sum(),
+                evictionCount.sum(),
+                entries.size()
+        );
+    }
+
+    private TypeModel load(URI uri, CacheEntry entry, Function<URI, TypeModel> loader) {
+        long start = System.nanoTime();
+        TypeModel type;
+        try {
+            type = loader.apply(uri);
+        } catch (RuntimeException ex) {
+            totalLoadTime.add(System.nanoTime() - start);
+            loadFailureCount.increment();
+            entries.remove(uri, entry);
+            entry.future.completeExceptionally(ex);
+            throw ex;
+        }
+
+        long end = System.nanoTime();
+        totalLoadTime.add(end - start);
+        loadSuccessCount.increment();
+
+        registerParent(type);
+        entry.complete(type, end + timeToLive);
+        addToAccessOrder(uri, entry);
+        evictIfNeeded();
+
+        return type;
+    }
+
+    private void registerParent(TypeModel type) {
+        TypeModel parent = type.getParent();
+        if (parent != null) {
+            childrenByParent.compute(parent.getUri(), (key, children) -> {
+                Set<URI> parentChildren = children == null ? ConcurrentHashMap.newKeySet() : children;
+                parentChildren.add(type.getUri());
+                return parentChildren;
+            });
+        }
+    }
+
+    /**
+     * Remove a type removed from entries from access order and from its parent children.
+     */
+    private void removeLinks(URI uri, CacheEntry entry) {
+        synchronized (accessOrder) {
+            accessOrder.remove(uri, entry);
+        }
+
+        if (!entry.future.isDone() || entry.future.isCompletedExceptionally()) {
+            return;
+        }
+        TypeModel parent = entry.future.join().getParent();
+        if (parent != null) {
+            childrenByParent.computeIfPresent(parent.getUri(), (key, children) -> {
+                children.remove(uri);
+                return children.isEmpty() ? null : children;
+            });
+        }
+    }
+
+    /**
+     * Remove all known descendants of a type.
+     */
+    private void removeDescendants(URI uri) {
+        Deque<URI> parents = new ArrayDeque<>();
+        Set<URI> visited = new HashSet<>();
+        parents.add(uri);
+
+        while (!parents.isEmpty()) {
+            Set<URI> children = childrenByParent.remove(parents.poll());
+            if (children != null) {
+                for (URI child : children) {
+                    if (visited.add(child)) {
+                        CacheEntry entry = entries.remove(child);
+                        if (entry != null) {
+                            removeLinks(child, entry);
+                        }
+                        parents.add(child);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addToAccessOrder(URI uri, CacheEntry entry) {
+        synchronized (accessOrder) {
+            if (entries.get(uri) == entry) {
+                accessOrder.put(uri, entry);
+            }
+        }
+    }
+
+    private TypeModel await(URI uri, CacheEntry entry) {
+        Thread current = Thread.currentThread();
+        boolean waiting = !entry.future.isDone();
+        if (waiting) {
+            awaitedTypes.put(current, uri);
+        }
+
+        try {
+            if (waiting) {
+                checkCyclicLoading(uri, entry);
+            }
+            TypeModel type = entry.future.join();
+            synchronized (accessOrder) {
+                // Move type to most recently used
+                accessOrder.get(uri);
+            }
+            return type;
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        } finally {
+            if (waiting) {
+                awaitedTypes.remove(current);
+            }
+        }
+    }
+
+    /**
+     * Follow the chain of loading threads waiting on each other starting from the loader of the given entry, if it
+     * leads back to the current thread waiting would never end.
+     */
+    private void checkCyclicLoading(URI uri, CacheEntry entry) {
+        Thread current = Thread.currentThread();
+        Set<Thread> visited = new HashSet<>();
+        CacheEntry awaitedEntry = entry;
+
+        while (awaitedEntry != null && !awaitedEntry.future.isDone()) {
+            Thread loader = awaitedEntry.loader;
+            if (loader == current) {
+                throw new TypeCyclicDependencyException(uri);
+            }
+            if (!visited.add(loader)) {
+                return;
+            }
+
+            URI loaderAwaitedType = awaitedTypes.get(loader);
+            if (loaderAwaitedType == null) {
+                return;
+            }
+            awaitedEntry = entries.get(loaderAwaitedType);
+        }
+    }
+
+    /**
+     * Evict least recently used types while cache is over capacity, and expired ones found on the way, then their
+     * descendants.
+     */
+    private void evictIfNeeded() {
+        long now = System.nanoTime();
+        List<URI> evictedTypes = new ArrayList<>();
+        synchronized (accessOrder) {
+            Iterator<Map.Entry<URI, CacheEntry>> eldestEntries = accessOrder.entrySet().iterator();
+            while (eldestEntries.hasNext()) {
+                Map.Entry<URI, CacheEntry> eldest = eldestEntries.next();
+                if (entries.size() <= maxSize && !eldest.getValue().isExpired(now)) {
+                    break;
+                }
+
+                eldestEntries.remove();
+                if (entries.remove(eldest.getKey(), eldest.getValue())) {
+                    evictionCount.increment();
+                    removeLinks(eldest.getKey(), eldest.getValue());
+                    evictedTypes.add(eldest.getKey());
+                }
+            }
+        }
+
+        for (URI evictedType : evictedTypes) {
+            removeDescendants(evictedType);
+        }
+    }
+
+    private static class CacheEntry {
+
+        private final CompletableFuture<TypeModel> future = new CompletableFuture<>();
+
+        private final Thread loader;
+
+        private volatile long expiration = Long.MAX_VALUE;
+
+        private CacheEntry(Thread loader) {
+            this.loader = loader;
+        }
+
+        private void complete(TypeModel type, long expiration) {
+            this.expiration = expiration;
+            future.complete(type);
+        }
+
+        private boolean isExpired(long now) {
+            return future.isDone() && now - expiration > 0;
+        }
+    }
+}
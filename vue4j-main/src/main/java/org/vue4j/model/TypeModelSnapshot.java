@@ -0,0 +1,310 @@
+package org.vue4j.model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * Binary snapshot of built types, used to avoid loading them from SPARQL at
+ * startup.
+ *
+ * A snapshot is tagged with the ontology version it was built from and is
+ * ignored when read for another version. All strings are stored once in a
+ * string table and types are stored parents first with only their declared
+ * fields, so inherited fields are shared again with parents when read.
+ * Field restrictions are not stored as they are not loaded yet.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class TypeModelSnapshot {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(TypeModelSnapshot.class);
+
+    private final static int MAGIC = 0x56344A54;
+
+    private final static int FORMAT_VERSION = 1;
+
+    private final static int NO_STRING = -1;
+
+    private final static byte INHERITED_FLAG = 1;
+
+    private final static byte REQUIRED_FLAG = 2;
+
+    private TypeModelSnapshot() {
+
+    }
+
+    /**
+     * Write types with all their ancestors to a snapshot file, replacing any existing one.
+     *
+     * @param file Snapshot file
+     * @param ontologyVersion Version of the ontology types were built from
+     * @param types Types to write
+     * @throws IOException In case of file access issues
+     */
+    public static void write(Path file, String ontologyVersion, Collection<TypeModel> types) throws IOException {
+        Set<TypeModel> orderedTypes = new LinkedHashSet<>();
+        for (TypeModel type : types) {
+            addWithAncestors(type, orderedTypes, new HashSet<>());
+        }
+
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(body)) {
+            out.writeInt(orderedTypes.size());
+            for (TypeModel type : orderedTypes) {
+                writeType(out, strings, type);
+            }
+        }
+
+        Path parentDirectory = file.toAbsolutePath().getParent();
+        if (parentDirectory != null) {
+            Files.createDirectories(parentDirectory);
+        }
+
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream fileOut = Files.newOutputStream(tmpFile);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, ontologyVersion);
+            out.writeInt(strings.values.size());
+            for (String value : strings.values) {
+                writeString(out, value);
+            }
+            body.writeTo(out);
+        }
+
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.debug("Type snapshot written with " + orderedTypes.size() + " types: " + file);
+    }
+
+    /**
+     * Read types from a memory mapped snapshot file.
+     *
+     * @param file Snapshot file
+     * @param ontologyVersion Expected ontology version
+     * @return Types indexed by URI, empty if file is missing, invalid or built for another ontology version
+     */
+    public static Map<URI, TypeModel> read(Path file, String ontologyVersion) {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                LOGGER.warn("Ignoring type snapshot with unknown format: " + file);
+                return Collections.emptyMap();
+            }
+
+            String snapshotVersion = readString(buffer);
+            if (!snapshotVersion.equals(ontologyVersion)) {
+                LOGGER.info("Ignoring type snapshot built for another ontology version: " + file);
+                return Collections.emptyMap();
+            }
+
+            int stringCount = buffer.getInt();
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                strings[i] = readString(buffer);
+            }
+
+            int typeCount = buffer.getInt();
+            Map<URI, TypeModel> types = new LinkedHashMap<>(typeCount * 2);
+            for (int i = 0; i < typeCount; i++) {
+                TypeModel type = readType(buffer, strings, types);
+                types.put(type.getUri(), type);
+            }
+
+            LOGGER.debug("Type snapshot read with " + types.size() + " types: " + file);
+            return types;
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException | IllegalArgumentException ex) {
+            LOGGER.warn("Ignoring invalid type snapshot: " + file, ex);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void addWithAncestors(TypeModel type, Set<TypeModel> orderedTypes, Set<TypeModel> visiting) {
+        if (orderedTypes.contains(type) || !visiting.add(type)) {
+            return;
+        }
+
+        if (type.getParent() != null) {
+            addWithAncestors(type.getParent(), orderedTypes, visiting);
+        }
+        orderedTypes.add(type);
+    }
+
+    private static void writeType(DataOutputStream out, StringTable strings, TypeModel type) throws IOException {
+        TypeModel parent = type.getParent();
+        out.writeInt(strings.index(type.getUri().toString()));
+        out.writeInt(parent == null ? NO_STRING : strings.index(parent.getUri().toString()));
+        writeMap(out, strings, type.getNames());
+
+        List<FieldModel> declaredFields = new ArrayList<>();
+        type.getFields().forEach((fieldID, field) -> {
+            if (parent == null || parent.getFields().get(fieldID) != field) {
+                declaredFields.add(field);
+            }
+        });
+
+        out.writeInt(declaredFields.size());
+        for (FieldModel field : declaredFields) {
+            out.writeInt(strings.index(field.getId()));
+            out.writeInt(field.getDataType() == null ? NO_STRING : strings.index(field.getDataType().toString()));
+            byte flags = 0;
+            if (field.isInherited()) {
+                flags |= INHERITED_FLAG;
+            }
+            if (field.isRequired()) {
+                flags |= REQUIRED_FLAG;
+            }
+            out.writeByte(flags);
+            out.writeInt(field.getMaxCardinality());
+            writeMap(out, strings, field.getNames());
+        }
+
+        List<String> fieldsOrder = type.getFieldsOrder();
+        if (fieldsOrder == null) {
+            fieldsOrder = Collections.emptyList();
+        }
+        out.writeInt(fieldsOrder.size());
+        for (String fieldID : fieldsOrder) {
+            out.writeInt(strings.index(fieldID));
+        }
+    }
+
+    private static TypeModel readType(ByteBuffer buffer, String[] strings, Map<URI, TypeModel> types) {
+        TypeModel type = new TypeModel();
+        type.setUri(URI.create(strings[buffer.getInt()]));
+
+        int parentIndex = buffer.getInt();
+        TypeModel parent = null;
+        if (parentIndex != NO_STRING) {
+            parent = types.get(URI.create(strings[parentIndex]));
+            if (parent == null) {
+                throw new IllegalArgumentException("Parent type not found before child type: " + type.getUri());
+            }
+        }
+        type.setParent(parent);
+        type.setNames(readMap(buffer, strings));
+
+        Map<String, FieldModel> fields = new HashMap<>();
+        if (parent != null) {
+            fields.putAll(parent.getFields());
+        }
+
+        int fieldCount = buffer.getInt();
+        for (int i = 0; i < fieldCount; i++) {
+            FieldModel field = new FieldModel();
+            field.setId(strings[buffer.getInt()]);
+            int dataTypeIndex = buffer.getInt();
+            if (dataTypeIndex != NO_STRING) {
+                field.setDataType(URI.create(strings[dataTypeIndex]));
+            }
+            byte flags = buffer.get();
+            field.setInherited((flags & INHERITED_FLAG) != 0);
+            field.setRequired((flags & REQUIRED_FLAG) != 0);
+            field.setMaxCardinality(buffer.getInt());
+            field.setNames(Collections.unmodifiableMap(readMap(buffer, strings)));
+            field.setRestrictions(Collections.emptySet());
+            fields.put(field.getId(), field);
+        }
+        type.setFields(Collections.unmodifiableMap(fields));
+
+        int fieldsOrderSize = buffer.getInt();
+        List<String> fieldsOrder = new ArrayList<>(fieldsOrderSize);
+        for (int i = 0; i < fieldsOrderSize; i++) {
+            fieldsOrder.add(strings[buffer.getInt()]);
+        }
+        type.setFieldsOrder(fieldsOrder);
+
+        return type;
+    }
+
+    private static void writeMap(DataOutputStream out, StringTable strings, Map<String, String> map) throws IOException {
+        if (map == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            out.writeInt(strings.index(entry.getKey()));
+            out.writeInt(strings.index(entry.getValue()));
+        }
+    }
+
+    private static Map<String, String> readMap(ByteBuffer buffer, String[] strings) {
+        int size = buffer.getInt();
+        Map<String, String> map = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            int keyIndex = buffer.getInt();
+            int valueIndex = buffer.getInt();
+            map.put(keyIndex == NO_STRING ? null : strings[keyIndex], valueIndex == NO_STRING ? null : strings[valueIndex]);
+        }
+
+        return map;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Strings of a snapshot being written, indexed by first use.
+     */
+    private static class StringTable {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final List<String> values = new ArrayList<>();
+
+        private int index(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+
+            return indexes.computeIfAbsent(value, (key) -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+    }
+}
@@ -1,18 +1,32 @@
 package org.vue4j.model;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import javax.inject.Inject;
 import static org.apache.jena.arq.querybuilder.Converters.makeVar;
 import org.apache.jena.arq.querybuilder.ExprFactory;
 import org.apache.jena.arq.querybuilder.SelectBuilder;
+import org.apache.jena.arq.querybuilder.WhereBuilder;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.sparql.core.Var;
@@ -20,49 +34,355 @@ import org.apache.jena.sparql.expr.E_OneOf;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 import org.apache.jena.vocabulary.XSD;
+import org.vue4j.sparql.SPARQLPreparedQuery;
 import org.vue4j.sparql.SPARQLResult;
 import org.vue4j.sparql.SPARQLService;
 
 public class TypeService {
 
-    @Inject
-    SPARQLService sparql;
+    private final SPARQLService sparql;
 
     private static ExprFactory exprFactory = new ExprFactory();
 
-    private Map<String, TypeModel> loadedTypes = new HashMap<>();
-    private Collection<String> loadingTypes = new HashSet<>();
+    /**
+     * Maximum number of types in VALUES clauses when loading multiple types at once.
+     */
+    private final static int BULK_LOADING_CHUNK_SIZE = 100;
+
+    private final static String ID_VAR = "id";
+    private final static String REQUIRED_VAR = "required";
+    private final static String MAX_CARDINALITY_VAR = "maxCardinality";
+    private final static String DATATYPE_VAR = "dataType";
+
+    private final static Var URI_VAR = makeVar("uri");
+    private final static Var TYPE_VAR = makeVar("type");
+    private final static Var PARENT_VAR = makeVar("parent");
+    private final static Var FIELD_VAR = makeVar("field");
+    private final static Var NAME_VAR = makeVar("name");
+    private final static Var LANG_VAR = makeVar("lang");
+
+    /**
+     * Queries compiled once with the loaded type URI as parameter.
+     */
+    private final static SPARQLPreparedQuery HIERARCHY_TYPES_QUERY = new SPARQLPreparedQuery(createHierarchyTypesQuery(), URI_VAR);
+    private final static SPARQLPreparedQuery HIERARCHY_FIELDS_QUERY = new SPARQLPreparedQuery(createHierarchyFieldsQuery(), URI_VAR);
+    private final static SPARQLPreparedQuery TYPE_NAMES_QUERY = new SPARQLPreparedQuery(createTypeNamesQuery(), URI_VAR);
+    private final static SPARQLPreparedQuery TYPE_PARENT_QUERY = new SPARQLPreparedQuery(createTypeParentQuery(), URI_VAR);
+    private final static SPARQLPreparedQuery TYPE_FIELDS_QUERY = new SPARQLPreparedQuery(createTypeFieldsQuery(), URI_VAR);
+
+    /**
+     * Default maximum number of independent sub-queries of type loading running concurrently.
+     */
+    public final static int DEFAULT_QUERY_PARALLELISM = 4;
+
+    private final TypeModelCache typeCache;
+
+    /**
+     * Hierarchy of all types returned by this service, types are indexed with their ancestors on first access.
+     */
+    private final TypeHierarchyIndex hierarchyIndex = new TypeHierarchyIndex();
+
+    /**
+     * Executor of independent sub-queries, these queries must never wait for other ones to avoid dead locks.
+     */
+    private final Executor queryExecutor;
+
+    /**
+     * If true, load a type with all its ancestors in a few queries using property paths, otherwise load each type of
+     * the hierarchy with its own queries.
+     */
+    private boolean batchLoading = true;
+
+    /**
+     * Ontology version computed on first use, reset when types are invalidated because ontology changed.
+     */
+    private String ontologyVersion;
+
+    /**
+     * Constructor, use {@link org.vue4j.sparql.SPARQLModule#getTypeService()} for the service of configured dataset.
+     *
+     * @param sparql SPARQL service to load types from
+     */
+    public TypeService(SPARQLService sparql) {
+        this(sparql, TypeModelCache.DEFAULT_MAX_SIZE, TypeModelCache.DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Constructor with specific type cache bounds.
+     *
+     * @param sparql SPARQL service to load types from
+     * @param cacheMaxSize Maximum number of cached types
+     * @param cacheTimeToLive Duration after which a cached type is reloaded
+     */
+    public TypeService(SPARQLService sparql, int cacheMaxSize, Duration cacheTimeToLive) {
+        this(sparql, cacheMaxSize, cacheTimeToLive, DEFAULT_QUERY_PARALLELISM);
+    }
+
+    /**
+     * Constructor with specific type cache bounds and query parallelism.
+     *
+     * @param sparql SPARQL service to load types from
+     * @param cacheMaxSize Maximum number of cached types
+     * @param cacheTimeToLive Duration after which a cached type is reloaded
+     * @param queryParallelism Maximum number of sub-queries running concurrently, run them sequentially if 0
+     */
+    public TypeService(SPARQLService sparql, int cacheMaxSize, Duration cacheTimeToLive, int queryParallelism) {
+        this.sparql = sparql;
+        this.typeCache = new TypeModelCache(cacheMaxSize, cacheTimeToLive);
+        this.queryExecutor = createQueryExecutor(queryParallelism);
+    }
+
+    private static Executor createQueryExecutor(int queryParallelism) {
+        if (queryParallelism < 0) {
+            throw new IllegalArgumentException("Type query parallelism must not be negative: " + queryParallelism);
+        }
+        if (queryParallelism == 0) {
+            return Runnable::run;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(queryParallelism, queryParallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (runnable) -> {
+            Thread thread = new Thread(runnable, "vue4j-type-query-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
 
     public TypeModel getType(URI rdfType) {
         URI formatedURI = sparql.formatURI(rdfType);
-        String formatedURIString = formatedURI.toString();
 
-        if (!loadedTypes.containsKey(formatedURIString)) {
-            loadedTypes.put(formatedURIString, loadType(formatedURI));
+        return indexed(typeCache.get(formatedURI, this::loadType));
+    }
+
+    /**
+     * Return types for all given URIs.
+     *
+     * In batch loading mode, types missing from cache are loaded together with their ancestors using VALUES clauses
+     * over all requested URIs, each shared ancestor being built only once.
+     *
+     * @param rdfTypes Types to get
+     * @return Map of types indexed by given URIs
+     */
+    public Map<URI, TypeModel> getTypes(Collection<URI> rdfTypes) {
+        Map<URI, TypeModel> types = new LinkedHashMap<>();
+        Map<URI, URI> missingTypes = new LinkedHashMap<>();
+
+        for (URI rdfType : rdfTypes) {
+            URI formatedURI = sparql.formatURI(rdfType);
+            TypeModel type = typeCache.getIfPresent(formatedURI);
+            if (type != null) {
+                types.put(rdfType, indexed(type));
+            } else {
+                missingTypes.put(rdfType, formatedURI);
+            }
+        }
+
+        if (missingTypes.isEmpty()) {
+            return types;
+        }
+
+        if (!batchLoading) {
+            missingTypes.forEach((rdfType, formatedURI) -> {
+                types.put(rdfType, indexed(typeCache.get(formatedURI, this::loadType)));
+            });
+            return types;
         }
 
-        return loadedTypes.get(formatedURIString);
+        List<URI> typesToLoad = new ArrayList<>(new LinkedHashSet<>(missingTypes.values()));
+        TypeHierarchy hierarchy = new TypeHierarchy();
+        for (int i = 0; i < typesToLoad.size(); i += BULK_LOADING_CHUNK_SIZE) {
+            List<URI> chunk = typesToLoad.subList(i, Math.min(i + BULK_LOADING_CHUNK_SIZE, typesToLoad.size()));
+            Node[] typeNodes = chunk.stream().map((uri) -> NodeFactory.createURI(uri.toString())).toArray(Node[]::new);
+            loadHierarchy(typeNodes, hierarchy);
+        }
+
+        missingTypes.forEach((rdfType, formatedURI) -> {
+            types.put(rdfType, indexed(typeCache.get(formatedURI, (uri) -> buildTypeHierarchy(uri, hierarchy))));
+        });
+
+        return types;
+    }
+
+    /**
+     * Evict a type and all its descendants from cache, they will be reloaded on next access.
+     *
+     * @param rdfType Type to invalidate
+     */
+    public void invalidateType(URI rdfType) {
+        URI formatedURI = sparql.formatURI(rdfType);
+        typeCache.invalidate(formatedURI);
+        hierarchyIndex.remove(formatedURI);
+        resetOntologyVersion();
+    }
+
+    /**
+     * Evict all types from cache.
+     */
+    public void invalidateAllTypes() {
+        typeCache.invalidateAll();
+        hierarchyIndex.clear();
+        resetOntologyVersion();
+    }
+
+    /**
+     * Return ontology version, a hash of all types and fields definition triples independent of triples order.
+     *
+     * Version is computed once and kept until types are invalidated.
+     *
+     * @return Ontology version
+     */
+    public synchronized String getOntologyVersion() {
+        if (ontologyVersion == null) {
+            ontologyVersion = computeOntologyVersion();
+        }
+        return ontologyVersion;
+    }
+
+    private synchronized void resetOntologyVersion() {
+        ontologyVersion = null;
+    }
+
+    private String computeOntologyVersion() {
+        Var subjectVar = makeVar("s");
+        Var predicateVar = makeVar("p");
+        Var objectVar = makeVar("o");
+
+        SelectBuilder typesSelect = new SelectBuilder();
+        typesSelect.setDistinct(true);
+        typesSelect.addVar(subjectVar).addVar(predicateVar).addVar(objectVar).addVar(LANG_VAR);
+        typesSelect.addWhere(subjectVar, Vue4JOntology.subClassAny, Vue4JOntology.Type);
+        typesSelect.addWhere(subjectVar, predicateVar, objectVar);
+        typesSelect.addBind(exprFactory.lang(objectVar), LANG_VAR);
+
+        SelectBuilder fieldsSelect = new SelectBuilder();
+        fieldsSelect.setDistinct(true);
+        fieldsSelect.addVar(subjectVar).addVar(predicateVar).addVar(objectVar).addVar(LANG_VAR);
+        fieldsSelect.addWhere(TYPE_VAR, Vue4JOntology.subClassAny, Vue4JOntology.Type);
+        fieldsSelect.addWhere(TYPE_VAR, Vue4JOntology.hasField, subjectVar);
+        fieldsSelect.addWhere(subjectVar, predicateVar, objectVar);
+        fieldsSelect.addBind(exprFactory.lang(objectVar), LANG_VAR);
+
+        long[] hash = new long[2];
+        Consumer<SPARQLResult> rowHandler = (row) -> {
+            String triple = row.getStringValue(subjectVar.getVarName())
+                    + " " + row.getStringValue(predicateVar.getVarName())
+                    + " " + row.getStringValue(objectVar.getVarName())
+                    + "@" + row.getStringValue(LANG_VAR.getVarName());
+            // Sum of triples hashes does not depend on triples order
+            hash[0] += hash64(triple);
+            hash[1]++;
+        };
+        sparql.executeSelectQuery(typesSelect, rowHandler);
+        sparql.executeSelectQuery(fieldsSelect, rowHandler);
+
+        return Long.toHexString(hash[0]) + "-" + hash[1];
+    }
+
+    /**
+     * Load types from a snapshot file into the cache if it was built for current ontology version, types missing from
+     * snapshot are still loaded from SPARQL on first access.
+     *
+     * @param snapshotFile Snapshot file
+     * @return Number of loaded types
+     */
+    public int loadSnapshot(Path snapshotFile) {
+        Map<URI, TypeModel> types = TypeModelSnapshot.read(snapshotFile, getOntologyVersion());
+
+        int count = 0;
+        for (TypeModel type : types.values()) {
+            if (typeCache.put(type)) {
+                hierarchyIndex.add(type);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Write all cached types to a snapshot file, tagged with current ontology version.
+     *
+     * @param snapshotFile Snapshot file
+     * @throws IOException In case of file access issues
+     */
+    public void saveSnapshot(Path snapshotFile) throws IOException {
+        TypeModelSnapshot.write(snapshotFile, getOntologyVersion(), typeCache.getAll());
+    }
+
+    /**
+     * Check if a type is the same as or a descendant of another type using hierarchy index, only the type itself is
+     * loaded if needed.
+     *
+     * @param rdfType Type to check
+     * @param parentType Potential ancestor type
+     * @return true if type is parent type or one of its descendants
+     */
+    public boolean isSubTypeOf(URI rdfType, URI parentType) {
+        URI formatedURI = sparql.formatURI(rdfType);
+        URI formatedParentURI = sparql.formatURI(parentType);
+        if (formatedURI.equals(formatedParentURI)) {
+            return true;
+        }
+
+        getType(formatedURI);
+        return hierarchyIndex.isSubTypeOf(formatedURI, formatedParentURI);
+    }
+
+    /**
+     * Return ancestors of a type from its direct parent up to its root type.
+     *
+     * @param rdfType Type
+     * @return Ancestors URI
+     */
+    public List<URI> getAncestorTypes(URI rdfType) {
+        URI formatedURI = sparql.formatURI(rdfType);
+        getType(formatedURI);
+        return hierarchyIndex.getAncestors(formatedURI);
+    }
+
+    /**
+     * Return descendants of a type among types already loaded by this service, without any query.
+     *
+     * @param rdfType Type
+     * @return Loaded descendants URI
+     */
+    public List<URI> getLoadedSubTypes(URI rdfType) {
+        return hierarchyIndex.getDescendants(sparql.formatURI(rdfType));
+    }
+
+    public TypeCacheStatistics getTypeCacheStatistics() {
+        return typeCache.getStatistics();
+    }
+
+    public boolean isBatchLoading() {
+        return batchLoading;
+    }
+
+    public void setBatchLoading(boolean batchLoading) {
+        this.batchLoading = batchLoading;
     }
 
     private TypeModel loadType(URI rdfType) {
-        String formatedURIString = rdfType.toString();
-        if (loadingTypes.contains(formatedURIString)) {
-            throw new TypeCyclicDependencyException(rdfType);
+        if (batchLoading) {
+            return loadTypeHierarchy(rdfType);
         }
-        loadingTypes.add(formatedURIString);
+
         TypeModel type = new TypeModel();
         type.setUri(rdfType);
 
         Node typeNode = NodeFactory.createURI(rdfType.toString());
-        type.setNames(loadTypeNames(typeNode));
+        CompletableFuture<Map<String, String>> names = CompletableFuture.supplyAsync(() -> loadTypeNames(typeNode), queryExecutor);
         try {
             type.setParent(loadTypeParent(typeNode));
         } catch (TypeCyclicDependencyException ex) {
             throw ex.getParentTypeCyclicDependencyException(rdfType);
         }
-        loadingTypes.remove(formatedURIString);
 
-        type.setFields(loadTypeFields(typeNode, type));
+        type.setFields(freezeFields(loadTypeFields(typeNode, type), type.getParent()));
+        type.setNames(join(names));
 
         type.setFieldsOrder(loadTypeFieldsOrder(typeNode, type));
         // TODO load fields order (parent inheritence)
@@ -72,46 +392,267 @@ public class TypeService {
         return type;
     }
 
-    private Map<String, String> loadTypeNames(Node typeNode) {
+    /**
+     * Load a type with all its ancestors using one query for the hierarchy and type names and another one for fields,
+     * then build the type models from the root type down to the requested one.
+     *
+     * @param rdfType Type to load
+     * @return Loaded type
+     */
+    private TypeModel loadTypeHierarchy(URI rdfType) {
+        Node typeNode = NodeFactory.createURI(rdfType.toString());
+
+        TypeHierarchy hierarchy = new TypeHierarchy();
+        loadHierarchy(new Node[]{typeNode}, hierarchy);
+
+        return buildTypeHierarchy(rdfType, hierarchy);
+    }
+
+    /**
+     * Run hierarchy types and fields queries concurrently, they fill distinct maps of the given hierarchy.
+     *
+     * @param typeNodes Types to load with their ancestors
+     * @param hierarchy Loaded hierarchy rows
+     */
+    private void loadHierarchy(Node[] typeNodes, TypeHierarchy hierarchy) {
+        CompletableFuture<Void> types = CompletableFuture.runAsync(() -> loadHierarchyTypes(typeNodes, hierarchy), queryExecutor);
+        loadHierarchyFields(typeNodes, hierarchy);
+        join(types);
+    }
+
+    /**
+     * Build a type from loaded hierarchy rows, building or getting from cache all its ancestors.
+     *
+     * @param rdfType Type to build
+     * @param hierarchy Loaded hierarchy rows
+     * @return Built type
+     */
+    private TypeModel buildTypeHierarchy(URI rdfType, TypeHierarchy hierarchy) {
+        // List types from the requested one up to the root
+        List<URI> hierarchyTypes = new ArrayList<>();
+        URI currentType = rdfType;
+        while (currentType != null) {
+            if (hierarchyTypes.contains(currentType)) {
+                TypeCyclicDependencyException ex = new TypeCyclicDependencyException(currentType);
+                for (int i = hierarchyTypes.size() - 1; i >= 0; i--) {
+                    ex.getParentTypeCyclicDependencyException(hierarchyTypes.get(i));
+                }
+                throw ex;
+            }
+            hierarchyTypes.add(currentType);
+            currentType = hierarchy.getParent(currentType);
+        }
+
+        // Build ancestors from the root, reusing already cached ones
+        TypeModel parent = null;
+        for (int i = hierarchyTypes.size() - 1; i > 0; i--) {
+            TypeModel ancestorParent = parent;
+            parent = typeCache.get(hierarchyTypes.get(i), (uri) -> buildType(uri, ancestorParent, hierarchy));
+        }
+
+        return buildType(rdfType, parent, hierarchy);
+    }
+
+    private void loadHierarchyTypes(Node[] typeNodes, TypeHierarchy hierarchy) {
+        Consumer<SPARQLResult> rowHandler = (row) -> {
+            URI type = sparql.formatURI(row.getStringValue(TYPE_VAR.getVarName()));
+
+            Set<URI> parents = hierarchy.parents.computeIfAbsent(type, (key) -> new HashSet<>());
+            URI parent = sparql.formatURI(row.getStringValue(PARENT_VAR.getVarName()));
+            if (parent != null && !parent.equals(type)) {
+                parents.add(parent);
+            }
+
+            Map<String, String> typeNames = hierarchy.names.computeIfAbsent(type, (key) -> new HashMap<>());
+            String name = row.getStringValue(NAME_VAR.getVarName());
+            if (!name.isEmpty()) {
+                typeNames.put(row.getStringValue(LANG_VAR.getVarName()), name);
+            }
+        };
+
+        if (typeNodes.length == 1) {
+            sparql.executeSelectQuery(HIERARCHY_TYPES_QUERY, rowHandler, typeNodes[0]);
+        } else {
+            SelectBuilder select = createHierarchyTypesQuery();
+            select.addWhereValueVar(URI_VAR, (Object[]) typeNodes);
+            sparql.executeSelectQuery(select, rowHandler);
+        }
+    }
+
+    private static SelectBuilder createHierarchyTypesQuery() {
         SelectBuilder select = new SelectBuilder();
+        select.setDistinct(true);
+
+        select.addVar(TYPE_VAR);
+        select.addWhere(URI_VAR, Vue4JOntology.subClassAny, TYPE_VAR);
+        select.addWhere(TYPE_VAR, Vue4JOntology.subClassAny, Vue4JOntology.Type);
+
+        select.addVar(PARENT_VAR);
+        select.addOptional(TYPE_VAR, RDFS.subClassOf, PARENT_VAR);
+
+        select.addVar(NAME_VAR);
+        select.addVar(LANG_VAR);
+        WhereBuilder names = new WhereBuilder();
+        names.addWhere(TYPE_VAR, RDFS.label, NAME_VAR);
+        names.addBind(exprFactory.lang(NAME_VAR), LANG_VAR);
+        select.addOptional(names);
+
+        return select;
+    }
 
-        Var uriVar = makeVar("uri");
-        select.addWhere(uriVar, Vue4JOntology.subClassAny, Vue4JOntology.Type);
-        select.addWhereValueVar(uriVar, typeNode);
+    private void loadHierarchyFields(Node[] typeNodes, TypeHierarchy hierarchy) {
+        Consumer<SPARQLResult> rowHandler = (row) -> {
+            URI type = sparql.formatURI(row.getStringValue(TYPE_VAR.getVarName()));
+            String field = row.getStringValue(FIELD_VAR.getVarName());
 
-        Var nameVar = makeVar("name");
-        select.addVar(nameVar);
-        select.addWhere(uriVar, RDFS.label, nameVar);
+            hierarchy.fields.computeIfAbsent(type, (key) -> new LinkedHashMap<>()).putIfAbsent(field, row);
 
-        Var langVar = makeVar("lang");
-        select.addBind(exprFactory.lang(nameVar), langVar);
+            Map<String, String> fieldNames = hierarchy.fieldNames.computeIfAbsent(field, (key) -> new HashMap<>());
+            String name = row.getStringValue(NAME_VAR.getVarName());
+            if (!name.isEmpty()) {
+                fieldNames.put(row.getStringValue(LANG_VAR.getVarName()), name);
+            }
+
+            // Load restriction specific class
+        };
+
+        if (typeNodes.length == 1) {
+            sparql.executeSelectQuery(HIERARCHY_FIELDS_QUERY, rowHandler, typeNodes[0]);
+        } else {
+            SelectBuilder select = createHierarchyFieldsQuery();
+            select.addWhereValueVar(URI_VAR, (Object[]) typeNodes);
+            sparql.executeSelectQuery(select, rowHandler);
+        }
+    }
+
+    private static SelectBuilder createHierarchyFieldsQuery() {
+        SelectBuilder select = new SelectBuilder();
+        select.setDistinct(true);
+
+        select.addVar(TYPE_VAR);
+        select.addWhere(URI_VAR, Vue4JOntology.subClassAny, TYPE_VAR);
+        select.addWhere(TYPE_VAR, Vue4JOntology.subClassAny, Vue4JOntology.Type);
+
+        select.addVar(FIELD_VAR);
+        select.addWhere(TYPE_VAR, Vue4JOntology.hasField, FIELD_VAR);
+        select.addWhere(FIELD_VAR, RDF.type, Vue4JOntology.Field);
+
+        addFieldDeclaration(select);
+
+        select.addVar(NAME_VAR);
+        select.addVar(LANG_VAR);
+        WhereBuilder names = new WhereBuilder();
+        names.addWhere(FIELD_VAR, RDFS.label, NAME_VAR);
+        names.addBind(exprFactory.lang(NAME_VAR), LANG_VAR);
+        select.addOptional(names);
+
+        Var restrictionVar = makeVar("restriction");
+        select.addVar(restrictionVar);
+        Var restrictionTypeVar = makeVar("restrictionType");
+        select.addVar(restrictionTypeVar);
+        WhereBuilder restrictions = new WhereBuilder();
+        restrictions.addWhere(FIELD_VAR, Vue4JOntology.hasFieldRestriction, restrictionVar);
+        restrictions.addWhere(restrictionVar, RDF.type, restrictionTypeVar);
+        restrictions.addWhere(restrictionTypeVar, Vue4JOntology.subClassAny, Vue4JOntology.FieldRestriction);
+        select.addOptional(restrictions);
+
+        return select;
+    }
+
+    /**
+     * Add field identifier and optional required, max cardinality and data type bindings read by
+     * {@link #addTypeField(Map, SPARQLResult, TypeFieldConflictsException)}.
+     *
+     * @param select Query selecting fields in {@link #FIELD_VAR}
+     */
+    private static void addFieldDeclaration(SelectBuilder select) {
+        Var idVar = makeVar(ID_VAR);
+        select.addVar(idVar);
+        select.addWhere(FIELD_VAR, Vue4JOntology.hasFieldID, idVar);
+
+        Var requiredVar = makeVar(REQUIRED_VAR);
+        select.addVar(requiredVar);
+        select.addOptional(FIELD_VAR, Vue4JOntology.isFieldRequired, requiredVar);
 
+        Var maxCardinalityVar = makeVar(MAX_CARDINALITY_VAR);
+        select.addVar(maxCardinalityVar);
+        select.addOptional(FIELD_VAR, Vue4JOntology.hasFieldMaxCardinality, maxCardinalityVar);
+
+        Var datatypeVar = makeVar(DATATYPE_VAR);
+        select.addVar(datatypeVar);
+        select.addOptional(FIELD_VAR, Vue4JOntology.hasFieldDataType, datatypeVar);
+    }
+
+    /**
+     * Build a type from loaded hierarchy rows, inheriting fields from the given parent.
+     *
+     * @param uri Type URI
+     * @param parent Already built parent type or null
+     * @param hierarchy Loaded hierarchy rows
+     * @return Built type
+     */
+    private TypeModel buildType(URI uri, TypeModel parent, TypeHierarchy hierarchy) {
+        TypeModel type = new TypeModel();
+        type.setUri(uri);
+        type.setNames(hierarchy.names.getOrDefault(uri, new HashMap<>()));
+        type.setParent(parent);
+
+        Map<String, FieldModel> fields = new HashMap<>();
+        if (parent != null) {
+            // Inherited fields are shared with parent until overridden
+            fields.putAll(parent.getFields());
+        }
+
+        TypeFieldConflictsException conflicts = new TypeFieldConflictsException(uri);
+
+        hierarchy.fields.getOrDefault(uri, Collections.emptyMap()).forEach((fieldURI, row) -> {
+            FieldModel field = addTypeField(fields, row, conflicts);
+            Map<String, String> fieldNames = hierarchy.fieldNames.get(fieldURI);
+            if (fieldNames != null) {
+                field.getNames().putAll(fieldNames);
+            }
+        });
+
+        if (conflicts.hasConflicts()) {
+            throw conflicts;
+        }
+
+        type.setFields(freezeFields(fields, parent));
+        type.setFieldsOrder(loadTypeFieldsOrder(NodeFactory.createURI(uri.toString()), type));
+
+        return type;
+    }
+
+    private Map<String, String> loadTypeNames(Node typeNode) {
         Map<String, String> names = new HashMap<>();
-        sparql.executeSelectQuery(select).forEach((row) -> {
-            String lang = row.getStringValue(langVar.getVarName());
-            String name = row.getStringValue(nameVar.getVarName());
+        sparql.executeSelectQuery(TYPE_NAMES_QUERY, (row) -> {
+            String lang = row.getStringValue(LANG_VAR.getVarName());
+            String name = row.getStringValue(NAME_VAR.getVarName());
             names.put(lang, name);
-        });
+        }, typeNode);
 
         return names;
     }
 
-    private TypeModel loadTypeParent(Node typeNode) {
+    private static SelectBuilder createTypeNamesQuery() {
         SelectBuilder select = new SelectBuilder();
 
-        Var uriVar = makeVar("uri");
-        select.addVar(uriVar);
-        select.addWhere(uriVar, Vue4JOntology.subClassAny, Vue4JOntology.Type);
-        select.addWhereValueVar(uriVar, typeNode);
+        select.addWhere(URI_VAR, Vue4JOntology.subClassAny, Vue4JOntology.Type);
+
+        select.addVar(NAME_VAR);
+        select.addWhere(URI_VAR, RDFS.label, NAME_VAR);
 
-        Var parentVar = makeVar("parent");
-        select.addVar(parentVar);
-        select.addWhere(uriVar, RDFS.subClassOf, parentVar);
+        select.addVar(LANG_VAR);
+        select.addBind(exprFactory.lang(NAME_VAR), LANG_VAR);
 
-        List<SPARQLResult> parentList = sparql.executeSelectQuery(select);
+        return select;
+    }
+
+    private TypeModel loadTypeParent(Node typeNode) {
+        List<SPARQLResult> parentList = sparql.executeSelectQuery(TYPE_PARENT_QUERY, typeNode);
         if (parentList.size() > 1) {
             Set<String> parents = parentList.stream().map((result) -> {
-                return result.getStringValue(parentVar.getVarName());
+                return result.getStringValue(PARENT_VAR.getVarName());
             }).collect(Collectors.toSet());
             throw new MultipleTypeParentException(typeNode.getURI(), parents);
         }
@@ -121,8 +662,8 @@ public class TypeService {
         }
 
         SPARQLResult row = parentList.get(0);
-        URI uri = sparql.formatURI(row.getStringValue(uriVar.getVarName()));
-        URI parentURI = sparql.formatURI(row.getStringValue(parentVar.getVarName()));
+        URI uri = sparql.formatURI(row.getStringValue(URI_VAR.getVarName()));
+        URI parentURI = sparql.formatURI(row.getStringValue(PARENT_VAR.getVarName()));
         if (!uri.equals(parentURI)) {
             return getType(parentURI);
         }
@@ -130,130 +671,107 @@ public class TypeService {
         return null;
     }
 
-    private Map<String, FieldModel> loadTypeFields(Node typeNode, TypeModel type) {
-        Map<String, FieldModel> fields = new HashMap<>();
+    private static SelectBuilder createTypeParentQuery() {
+        SelectBuilder select = new SelectBuilder();
 
-        TypeModel parent = type.getParent();
-        if (parent != null) {
-            parent.getFields().forEach((key, field) -> {
-                fields.put(key, field.getCopy());
-            });
-        }
+        select.addVar(URI_VAR);
+        select.addWhere(URI_VAR, Vue4JOntology.subClassAny, Vue4JOntology.Type);
+
+        select.addVar(PARENT_VAR);
+        select.addWhere(URI_VAR, RDFS.subClassOf, PARENT_VAR);
 
-        // Load type fields
+        return select;
+    }
+
+    private static SelectBuilder createTypeFieldsQuery() {
         SelectBuilder select = new SelectBuilder();
 
-        Var uriVar = makeVar("uri");
-        select.addWhere(uriVar, Vue4JOntology.subClassAny, Vue4JOntology.Type);
-        select.addWhereValueVar(uriVar, typeNode);
+        select.addWhere(URI_VAR, Vue4JOntology.subClassAny, Vue4JOntology.Type);
 
-        Var fieldVar = makeVar("field");
-        select.addVar(fieldVar);
-        select.addWhere(uriVar, Vue4JOntology.hasField, fieldVar);
-        select.addWhere(fieldVar, RDF.type, Vue4JOntology.Field);
+        select.addVar(FIELD_VAR);
+        select.addWhere(URI_VAR, Vue4JOntology.hasField, FIELD_VAR);
+        select.addWhere(FIELD_VAR, RDF.type, Vue4JOntology.Field);
 
-        Var idVar = makeVar("id");
-        select.addVar(idVar);
-        select.addWhere(fieldVar, Vue4JOntology.hasFieldID, idVar);
+        addFieldDeclaration(select);
 
-        Var requiredVar = makeVar("required");
-        select.addVar(requiredVar);
-        select.addOptional(fieldVar, Vue4JOntology.isFieldRequired, requiredVar);
+        return select;
+    }
 
-        Var maxCardinalityVar = makeVar("maxCardinality");
-        select.addVar(maxCardinalityVar);
-        select.addOptional(fieldVar, Vue4JOntology.hasFieldMaxCardinality, maxCardinalityVar);
+    private Map<String, FieldModel> loadTypeFields(Node typeNode, TypeModel type) {
+        Map<String, FieldModel> fields = new HashMap<>();
 
-        Var datatypeVar = makeVar("dataType");
-        select.addVar(datatypeVar);
-        select.addOptional(fieldVar, Vue4JOntology.hasFieldDataType, datatypeVar);
+        TypeModel parent = type.getParent();
+        if (parent != null) {
+            // Inherited fields are shared with parent until overridden
+            fields.putAll(parent.getFields());
+        }
 
         Set<String> fieldsURI = new HashSet<>();
         
         TypeFieldConflictsException conflicts = new TypeFieldConflictsException(type.getUri());
         
-        sparql.executeSelectQuery(select).forEach((row) -> {
-            String fieldID = row.getStringValue(idVar.getVarName());
-            FieldModel field = new FieldModel();
-            field.setId(fieldID);
-
-            fieldsURI.add(row.getStringValue(fieldVar.getVarName()));
-
-            if (fields.containsKey(fieldID)) {
-                FieldModel inheritedField = fields.get(fieldID);
-                field.setInherited(true);
-                field.setRequired(row.getBoolValue(requiredVar.getVarName(), inheritedField.isRequired()));
-                field.setMaxCardinality(row.getIntValue(maxCardinalityVar.getVarName(), inheritedField.getMaxCardinality()));
-                field.setDataType(sparql.formatURI(row.getStringValue(datatypeVar.getVarName(), inheritedField.getDataType().toString())));
-                field.setNames(inheritedField.getNames());
-                field.setRestrictions(inheritedField.getRestrictions());
-                field.setRestrictions(new HashSet<>());
-                if (inheritedField.isRequired() && !field.isRequired()) {
-                    conflicts.addConflict(fieldID, "field is optional but parent defined it as required");
-                }
-                if (inheritedField.getMaxCardinality() < field.getMaxCardinality()) {
-                    conflicts.addConflict(fieldID, "field has a max cardinality of " + field.getMaxCardinality() + " but parent defined it as " + inheritedField.getMaxCardinality() + " (must be lower or equals)");
-                }
-                if (!isChildDatatype(field.getDataType(), inheritedField.getDataType())) {
-                    conflicts.addConflict(fieldID, "field as for data type " + field.getDataType() + " but parent defined it as " + inheritedField.getDataType() + " (must be the same or a subtype of)");
-                }
-            } else {
-                field.setInherited(false);
-                field.setRequired(row.getBoolValue(requiredVar.getVarName(), false));
-                field.setMaxCardinality(row.getIntValue(maxCardinalityVar.getVarName(), 0));
-                field.setDataType(sparql.formatURI(row.getStringValue(datatypeVar.getVarName(), XSD.xstring.toString())));
-                field.setNames(new HashMap<>());
-                field.setRestrictions(new HashSet<>());
-            }
-
-            fields.put(field.getId(), field);
-        });
+        sparql.executeSelectQuery(TYPE_FIELDS_QUERY, (row) -> {
+            fieldsURI.add(row.getStringValue(FIELD_VAR.getVarName()));
+            addTypeField(fields, row, conflicts);
+        }, typeNode);
         
         if (conflicts.hasConflicts()) {
             throw conflicts;
         }
 
-        E_OneOf fieldFilter = exprFactory.in(fieldVar, fieldsURI.toArray());
+        E_OneOf fieldFilter = exprFactory.in(FIELD_VAR, fieldsURI.stream().map(NodeFactory::createURI).toArray());
 
-        // Load fields names
-        select = new SelectBuilder();
-        select.addWhere(fieldVar, RDF.type, Vue4JOntology.Field);
-        select.addFilter(fieldFilter);
+        // Load fields names and restrictions concurrently, results are applied to fields once both are loaded
+        Var idVar = makeVar(ID_VAR);
+        CompletableFuture<Map<String, Map<String, String>>> fieldsNames = CompletableFuture.supplyAsync(() -> {
+            SelectBuilder select = new SelectBuilder();
+            select.addWhere(FIELD_VAR, RDF.type, Vue4JOntology.Field);
+            select.addFilter(fieldFilter);
 
-        select.addVar(idVar);
-        select.addWhere(fieldVar, Vue4JOntology.hasFieldID, idVar);
-
-        Var nameVar = makeVar("name");
-        select.addVar(nameVar);
-        select.addWhere(fieldVar, RDFS.label, nameVar);
+            select.addVar(idVar);
+            select.addWhere(FIELD_VAR, Vue4JOntology.hasFieldID, idVar);
 
-        Var langVar = makeVar("lang");
-        select.addBind(exprFactory.lang(nameVar), langVar);
+            select.addVar(NAME_VAR);
+            select.addWhere(FIELD_VAR, RDFS.label, NAME_VAR);
 
-        sparql.executeSelectQuery(select).forEach((row) -> {
-            String fieldID = row.getStringValue(idVar.getVarName());
-            String lang = row.getStringValue(langVar.getVarName());
-            String name = row.getStringValue(nameVar.getVarName());
-            fields.get(fieldID).getNames().put(lang, name);
-        });
+            select.addVar(LANG_VAR);
+            select.addBind(exprFactory.lang(NAME_VAR), LANG_VAR);
 
-        // Load fields restrictions
-        select = new SelectBuilder();
-        select.addWhere(fieldVar, RDF.type, Vue4JOntology.Field);
-        select.addFilter(fieldFilter);
+            Map<String, Map<String, String>> namesByField = new HashMap<>();
+            sparql.executeSelectQuery(select, (row) -> {
+                String fieldID = row.getStringValue(idVar.getVarName());
+                String lang = row.getStringValue(LANG_VAR.getVarName());
+                String name = row.getStringValue(NAME_VAR.getVarName());
+                namesByField.computeIfAbsent(fieldID, (key) -> new HashMap<>()).put(lang, name);
+            });
 
-        select.addVar(idVar);
-        select.addWhere(fieldVar, Vue4JOntology.hasFieldID, idVar);
+            return namesByField;
+        }, queryExecutor);
 
         Var restrictionVar = makeVar("restriction");
-        select.addVar(restrictionVar);
-        select.addWhere(fieldVar, Vue4JOntology.hasFieldRestriction, restrictionVar);
-
         Var restrictionTypeVar = makeVar("restrictionType");
-        select.addWhere(restrictionVar, RDF.type, restrictionTypeVar);
-        select.addWhere(restrictionTypeVar, Vue4JOntology.subClassAny, Vue4JOntology.FieldRestriction);
+        CompletableFuture<List<SPARQLResult>> fieldsRestrictions = CompletableFuture.supplyAsync(() -> {
+            SelectBuilder select = new SelectBuilder();
+            select.addWhere(FIELD_VAR, RDF.type, Vue4JOntology.Field);
+            select.addFilter(fieldFilter);
+
+            select.addVar(idVar);
+            select.addWhere(FIELD_VAR, Vue4JOntology.hasFieldID, idVar);
+
+            select.addVar(restrictionVar);
+            select.addWhere(FIELD_VAR, Vue4JOntology.hasFieldRestriction, restrictionVar);
 
-        sparql.executeSelectQuery(select).forEach((row) -> {
+            select.addWhere(restrictionVar, RDF.type, restrictionTypeVar);
+            select.addWhere(restrictionTypeVar, Vue4JOntology.subClassAny, Vue4JOntology.FieldRestriction);
+
+            return sparql.executeSelectQuery(select);
+        }, queryExecutor);
+
+        join(fieldsNames).forEach((fieldID, names) -> {
+            fields.get(fieldID).getNames().putAll(names);
+        });
+
+        join(fieldsRestrictions).forEach((row) -> {
             String fieldID = row.getStringValue(idVar.getVarName());
             String restriction = row.getStringValue(restrictionVar.getVarName());
             URI restrictionType = sparql.formatURI(row.getStringValue(restrictionTypeVar.getVarName()));
@@ -264,6 +782,70 @@ public class TypeService {
         return fields;
     }
 
+    /**
+     * Add a field declared by a type to the given fields, merging it with the inherited field of the same identifier if
+     * any.
+     *
+     * @param fields Type fields including inherited ones
+     * @param row Field declaration row with id, required, maxCardinality and dataType bindings
+     * @param conflicts Conflicts found between declared and inherited fields
+     * @return declared field
+     */
+    private FieldModel addTypeField(Map<String, FieldModel> fields, SPARQLResult row, TypeFieldConflictsException conflicts) {
+        String fieldID = row.getStringValue(ID_VAR);
+        FieldModel field = new FieldModel();
+        field.setId(fieldID);
+
+        if (fields.containsKey(fieldID)) {
+            FieldModel inheritedField = fields.get(fieldID);
+            field.setInherited(true);
+            field.setRequired(row.getBoolValue(REQUIRED_VAR, inheritedField.isRequired()));
+            field.setMaxCardinality(row.getIntValue(MAX_CARDINALITY_VAR, inheritedField.getMaxCardinality()));
+            field.setDataType(sparql.formatURI(row.getStringValue(DATATYPE_VAR, inheritedField.getDataType().toString())));
+            field.setNames(new HashMap<>(inheritedField.getNames()));
+            field.setRestrictions(new HashSet<>());
+            if (inheritedField.isRequired() && !field.isRequired()) {
+                conflicts.addConflict(fieldID, "field is optional but parent defined it as required");
+            }
+            if (inheritedField.getMaxCardinality() < field.getMaxCardinality()) {
+                conflicts.addConflict(fieldID, "field has a max cardinality of " + field.getMaxCardinality() + " but parent defined it as " + inheritedField.getMaxCardinality() + " (must be lower or equals)");
+            }
+            if (!isChildDatatype(field.getDataType(), inheritedField.getDataType())) {
+                conflicts.addConflict(fieldID, "field as for data type " + field.getDataType() + " but parent defined it as " + inheritedField.getDataType() + " (must be the same or a subtype of)");
+            }
+        } else {
+            field.setInherited(false);
+            field.setRequired(row.getBoolValue(REQUIRED_VAR, false));
+            field.setMaxCardinality(row.getIntValue(MAX_CARDINALITY_VAR, 0));
+            field.setDataType(sparql.formatURI(row.getStringValue(DATATYPE_VAR, XSD.xstring.toString())));
+            field.setNames(new HashMap<>());
+            field.setRestrictions(new HashSet<>());
+        }
+
+        fields.put(field.getId(), field);
+
+        return field;
+    }
+
+    /**
+     * Make built fields read-only as field instances inherited without override are shared between a type and its
+     * descendants.
+     *
+     * @param fields Type fields including inherited ones
+     * @param parent Parent type or null
+     * @return Read-only fields
+     */
+    private Map<String, FieldModel> freezeFields(Map<String, FieldModel> fields, TypeModel parent) {
+        fields.forEach((fieldID, field) -> {
+            if (parent == null || parent.getFields().get(fieldID) != field) {
+                field.setNames(Collections.unmodifiableMap(field.getNames()));
+                field.setRestrictions(Collections.unmodifiableCollection(field.getRestrictions()));
+            }
+        });
+
+        return Collections.unmodifiableMap(fields);
+    }
+
     private List<String> loadTypeFieldsOrder(Node typeNode, TypeModel type) {
         List<String> fieldsOrder = new ArrayList<>();
         TypeModel parent = type.getParent();
@@ -274,7 +856,68 @@ public class TypeService {
         return fieldsOrder;
     }
     
+    /**
+     * 64 bits FNV-1a hash of a string with a final bits mix, so that the sum of many hashes stays well distributed.
+     */
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * Wait for a sub-query result, rethrowing its failure as is.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
     private boolean isChildDatatype(URI childDataType, URI parentDataType) {
-        return childDataType.equals(parentDataType);
+        return childDataType.equals(parentDataType) || hierarchyIndex.isSubTypeOf(childDataType, parentDataType);
+    }
+
+    private TypeModel indexed(TypeModel type) {
+        hierarchyIndex.add(type);
+        return type;
+    }
+
+    /**
+     * Rows loaded for a type hierarchy, indexed by type.
+     */
+    private static class TypeHierarchy {
+
+        private final Map<URI, Set<URI>> parents = new HashMap<>();
+
+        private final Map<URI, Map<String, String>> names = new HashMap<>();
+
+        private final Map<URI, Map<String, SPARQLResult>> fields = new HashMap<>();
+
+        private final Map<String, Map<String, String>> fieldNames = new HashMap<>();
+
+        private URI getParent(URI type) {
+            Set<URI> typeParents = parents.get(type);
+            if (typeParents == null || typeParents.isEmpty()) {
+                return null;
+            }
+
+            if (typeParents.size() > 1) {
+                Set<String> parentsURI = typeParents.stream().map(URI::toString).collect(Collectors.toSet());
+                throw new MultipleTypeParentException(type.toString(), parentsURI);
+            }
+
+            return typeParents.iterator().next();
+        }
     }
 }
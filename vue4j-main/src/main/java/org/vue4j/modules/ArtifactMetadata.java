@@ -0,0 +1,59 @@
+package org.vue4j.modules;
+
+/**
+ * Maven identity of a module JAR or classes directory, read from its manifest and embedded pom.
+ *
+ * @author Vincent Migot
+ */
+public class ArtifactMetadata {
+
+    /**
+     * Metadata of an artifact without manifest title nor readable pom.
+     */
+    public final static ArtifactMetadata UNKNOWN = new ArtifactMetadata(null, null, null, null);
+
+    private final String implementationTitle;
+
+    private final String groupId;
+
+    private final String artifactId;
+
+    private final String version;
+
+    public ArtifactMetadata(String implementationTitle, String groupId, String artifactId, String version) {
+        this.implementationTitle = implementationTitle;
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+    }
+
+    public String getImplementationTitle() {
+        return implementationTitle;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Return project identifier: manifest implementation title if defined, pom artifact identifier otherwise.
+     *
+     * @return Project identifier, empty if unknown
+     */
+    public String getProjectId() {
+        if (implementationTitle != null) {
+            return implementationTitle;
+        } else if (artifactId != null) {
+            return artifactId;
+        }
+        return "";
+    }
+}
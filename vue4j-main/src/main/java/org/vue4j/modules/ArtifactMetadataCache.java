@@ -0,0 +1,276 @@
+package org.vue4j.modules;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vue4j.utils.ClassUtils;
+import org.vue4j.utils.FileUtils;
+
+/**
+ * <pre>
+ * Thread safe cache of artifacts metadata.
+ *
+ * Each JAR manifest and embedded pom is read only once, several JAR files
+ * can be read in parallel with preload. Metadata of JAR files can be
+ * persisted to a file and is reused on next start as long as JAR file
+ * modification time and size are unchanged.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class ArtifactMetadataCache {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ArtifactMetadataCache.class);
+
+    /**
+     * Pom file embedded in Vue4J modules JAR or classes directory.
+     */
+    private final static String POM_ENTRY = "vue4j-pom.xml";
+
+    private final static int MAGIC = 0x56344A41;
+
+    private final static int FORMAT_VERSION = 1;
+
+    private final ConcurrentMap<File, ArtifactMetadata> metadataByLocation = new ConcurrentHashMap<>();
+
+    /**
+     * Metadata of JAR files with their modification time and size when read.
+     */
+    private final ConcurrentMap<File, JarMetadata> jarMetadata = new ConcurrentHashMap<>();
+
+    /**
+     * True if a JAR file was read since last load or save.
+     */
+    private final AtomicBoolean modified = new AtomicBoolean(false);
+
+    private final ClassValue<String> projectIds = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            Package classPackage = type.getPackage();
+            if (classPackage != null && classPackage.getImplementationTitle() != null) {
+                return classPackage.getImplementationTitle();
+            }
+
+            CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+            if (codeSource == null || codeSource.getLocation() == null) {
+                return "";
+            }
+            return ArtifactMetadataCache.this.get(ClassUtils.getJarFileFromURL(codeSource.getLocation())).getProjectId();
+        }
+    };
+
+    /**
+     * Return project identifier of the artifact containing a class.
+     *
+     * @param type Class
+     * @return Project identifier, empty if unknown
+     */
+    public String getProjectId(Class<?> type) {
+        return projectIds.get(type);
+    }
+
+    /**
+     * Return metadata of a JAR file or classes directory, reading it only if not cached.
+     *
+     * @param location JAR file or classes directory
+     * @return Artifact metadata, unknown if not readable
+     */
+    public ArtifactMetadata get(File location) {
+        return metadataByLocation.computeIfAbsent(location.getAbsoluteFile(), this::read);
+    }
+
+    /**
+     * Read metadata of all given locations in parallel.
+     *
+     * @param locations JAR files or classes directories
+     * @param executor Executor of reads
+     */
+    public void preload(Collection<File> locations, Executor executor) {
+        CompletableFuture.allOf(locations.stream()
+                .map((location) -> CompletableFuture.runAsync(() -> get(location), executor))
+                .toArray(CompletableFuture[]::new)
+        ).join();
+    }
+
+    /**
+     * Load metadata persisted by a previous run, entries are only used if JAR file is unchanged.
+     *
+     * @param file Cache file
+     */
+    public void load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+
+        try {
+            Map<File, JarMetadata> loadedMetadata = new HashMap<>();
+            FileUtils.readVersionedFile(file, MAGIC, FORMAT_VERSION, (in) -> {
+                int jarCount = in.readInt();
+                for (int i = 0; i < jarCount; i++) {
+                    File location = new File(in.readUTF());
+                    long lastModified = in.readLong();
+                    long size = in.readLong();
+                    ArtifactMetadata metadata = new ArtifactMetadata(
+                            nullIfEmpty(in.readUTF()),
+                            nullIfEmpty(in.readUTF()),
+                            nullIfEmpty(in.readUTF()),
+                            nullIfEmpty(in.readUTF())
+                    );
+                    loadedMetadata.put(location, new JarMetadata(lastModified, size, metadata));
+                }
+            });
+            loadedMetadata.forEach(jarMetadata::putIfAbsent);
+            modified.set(false);
+        } catch (IOException ex) {
+            LOGGER.warn("Ignoring invalid artifacts metadata cache file: " + file, ex);
+        }
+    }
+
+    /**
+     * Persist metadata of JAR files used since start if any of them was read.
+     *
+     * @param file Cache file
+     */
+    public void save(Path file) {
+        if (!modified.getAndSet(false)) {
+            return;
+        }
+
+        Map<File, JarMetadata> usedMetadata = new HashMap<>();
+        jarMetadata.forEach((location, jar) -> {
+            if (metadataByLocation.containsKey(location)) {
+                usedMetadata.put(location, jar);
+            }
+        });
+
+        try {
+            FileUtils.writeVersionedFile(file, MAGIC, FORMAT_VERSION, (out) -> {
+                out.writeInt(usedMetadata.size());
+                for (Map.Entry<File, JarMetadata> jar : usedMetadata.entrySet()) {
+                    out.writeUTF(jar.getKey().getPath());
+                    out.writeLong(jar.getValue().lastModified);
+                    out.writeLong(jar.getValue().size);
+                    out.writeUTF(emptyIfNull(jar.getValue().metadata.getImplementationTitle()));
+                    out.writeUTF(emptyIfNull(jar.getValue().metadata.getGroupId()));
+                    out.writeUTF(emptyIfNull(jar.getValue().metadata.getArtifactId()));
+                    out.writeUTF(emptyIfNull(jar.getValue().metadata.getVersion()));
+                }
+            });
+        } catch (IOException ex) {
+            LOGGER.error("Error while writing artifacts metadata cache file", ex);
+        }
+    }
+
+    private ArtifactMetadata read(File location) {
+        if (location.isFile()) {
+            long lastModified = location.lastModified();
+            long size = location.length();
+            JarMetadata jar = jarMetadata.get(location);
+            if (jar == null || jar.lastModified != lastModified || jar.size != size) {
+                jar = new JarMetadata(lastModified, size, readJar(location));
+                jarMetadata.put(location, jar);
+                modified.set(true);
+            }
+            return jar.metadata;
+        }
+
+        File pom = new File(location, POM_ENTRY);
+        if (pom.isFile()) {
+            try (Reader reader = new FileReader(pom, StandardCharsets.UTF_8)) {
+                return toMetadata(null, new MavenXpp3Reader().read(reader));
+            } catch (IOException | XmlPullParserException ex) {
+                LOGGER.warn("Error while reading artifact pom: " + pom, ex);
+            }
+        }
+        return ArtifactMetadata.UNKNOWN;
+    }
+
+    private static ArtifactMetadata readJar(File jarFile) {
+        LOGGER.debug("Read artifact metadata: " + jarFile.getPath());
+        try (JarFile jar = new JarFile(jarFile, false)) {
+            String implementationTitle = null;
+            Manifest manifest = jar.getManifest();
+            if (manifest != null) {
+                implementationTitle = manifest.getMainAttributes().getValue(Attributes.Name.IMPLEMENTATION_TITLE);
+            }
+
+            Model model = null;
+            ZipEntry pomEntry = jar.getEntry(POM_ENTRY);
+            if (pomEntry != null) {
+                try (InputStream pomStream = jar.getInputStream(pomEntry)) {
+                    model = new MavenXpp3Reader().read(pomStream);
+                }
+            }
+
+            return toMetadata(implementationTitle, model);
+        } catch (IOException | XmlPullParserException ex) {
+            LOGGER.warn("Error while reading artifact metadata: " + jarFile.getPath(), ex);
+            return ArtifactMetadata.UNKNOWN;
+        }
+    }
+
+    private static ArtifactMetadata toMetadata(String implementationTitle, Model model) {
+        if (model == null) {
+            return new ArtifactMetadata(implementationTitle, null, null, null);
+        }
+
+        String groupId = model.getGroupId();
+        String version = model.getVersion();
+        if (model.getParent() != null) {
+            if (groupId == null) {
+                groupId = model.getParent().getGroupId();
+            }
+            if (version == null) {
+                version = model.getParent().getVersion();
+            }
+        }
+
+        return new ArtifactMetadata(implementationTitle, groupId, model.getArtifactId(), version);
+    }
+
+    private static String nullIfEmpty(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String emptyIfNull(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static class JarMetadata {
+
+        private final long lastModified;
+
+        private final long size;
+
+        private final ArtifactMetadata metadata;
+
+        private JarMetadata(long lastModified, long size, ArtifactMetadata metadata) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.metadata = metadata;
+        }
+    }
+}
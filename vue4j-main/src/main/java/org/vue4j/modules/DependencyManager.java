@@ -5,11 +5,15 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.building.DefaultModelBuilderFactory;
 import org.apache.maven.model.building.DefaultModelBuildingRequest;
@@ -43,6 +47,7 @@ import org.eclipse.aether.util.filter.PatternExclusionsDependencyFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vue4j.utils.ClassUtils;
+import org.vue4j.utils.bo.BuildOrderExecutors;
 
 /**
  * <pre>
@@ -64,6 +69,26 @@ public class DependencyManager {
      */
     private final static String MAVEN_CENTRAL_URL = "https://repo1.maven.org/maven2/";
 
+    /**
+     * Resolver property of parallel artifacts downloads count.
+     */
+    private final static String DOWNLOAD_THREADS_PROPERTY = "aether.connector.basic.threads";
+
+    /**
+     * Resolver property of parallel metadata downloads count.
+     */
+    private final static String METADATA_THREADS_PROPERTY = "aether.metadataResolver.threads";
+
+    /**
+     * Default parallel downloads count, can be overridden with resolver system properties.
+     */
+    private final static String DEFAULT_DOWNLOAD_THREADS = "8";
+
+    /**
+     * Maximum number of modules resolved in parallel.
+     */
+    private final static int MAX_PARALLEL_RESOLUTIONS = 8;
+
     /**
      * Generate a unique key for an artifact.
      *
@@ -117,6 +142,10 @@ public class DependencyManager {
 
         repositorySystemSession.setRepositoryListener(new DependencyLogger());
 
+        // Enable parallel downloads of artifacts and metadata
+        repositorySystemSession.setConfigProperty(DOWNLOAD_THREADS_PROPERTY, System.getProperty(DOWNLOAD_THREADS_PROPERTY, DEFAULT_DOWNLOAD_THREADS));
+        repositorySystemSession.setConfigProperty(METADATA_THREADS_PROPERTY, System.getProperty(METADATA_THREADS_PROPERTY, DEFAULT_DOWNLOAD_THREADS));
+
         return repositorySystemSession;
     }
 
@@ -152,7 +181,7 @@ public class DependencyManager {
     private RepositorySystem system;
 
     /**
-     * Session for local system repository.
+     * Session for local system repository, shared by parallel resolutions.
      */
     private RepositorySystemSession session;
 
@@ -164,14 +193,19 @@ public class DependencyManager {
     /**
      * Loaded dependencies list.
      */
-    private final Set<String> loadedDependencies = new HashSet<>();
+    private final Set<String> loadedDependencies = ConcurrentHashMap.newKeySet();
 
     /**
      * Build-in dependencies list.
      */
     private final Set<String> buildinDependencies = new HashSet<>();
 
-    private final Map<String, Set<String>> dependenciesByModule = new HashMap<>();
+    private final Map<String, Set<String>> dependenciesByModule = new ConcurrentHashMap<>();
+
+    /**
+     * Store used to resolve modules without network access, null if modules are resolved from Maven repositories.
+     */
+    private final OfflineArtifactStore offlineStore;
 
     /**
      * Constructor for dependency manager based on a main pom file.
@@ -182,6 +216,21 @@ public class DependencyManager {
      * @throws MalformedURLException In case of bad url format
      */
     public DependencyManager(File mainPom) throws ModelBuildingException, DependencyResolutionException, MalformedURLException {
+        this(mainPom, null);
+    }
+
+    /**
+     * Constructor for dependency manager based on a main pom file, resolving modules only from an offline store if
+     * defined.
+     *
+     * @param mainPom Base pom file
+     * @param offlineStore Offline artifacts store, null to resolve modules from Maven repositories
+     * @throws ModelBuildingException In case of bad pom files
+     * @throws DependencyResolutionException Dependency resolution issue
+     * @throws MalformedURLException In case of bad url format
+     */
+    public DependencyManager(File mainPom, OfflineArtifactStore offlineStore) throws ModelBuildingException, DependencyResolutionException, MalformedURLException {
+        this.offlineStore = offlineStore;
         initRegistries();
         loadDependencies(mainPom, false);
         buildinDependencies.addAll(loadedDependencies);
@@ -192,7 +241,9 @@ public class DependencyManager {
      */
     private void initRegistries() {
         system = getRepositorySystem();
-        session = getRepositorySystemSession(system, repositoryPath);
+        DefaultRepositorySystemSession repositorySystemSession = getRepositorySystemSession(system, repositoryPath);
+        repositorySystemSession.setOffline(offlineStore != null);
+        session = repositorySystemSession;
     }
 
     /**
@@ -205,14 +256,24 @@ public class DependencyManager {
     private Model registerPom(File pom) throws ModelBuildingException {
         Model model = buildPomModel(pom);
 
-        loadedDependencies.add(model.getGroupId()
-                + ":" + model.getArtifactId()
-                + ":" + model.getPackaging()
-                + ":" + model.getVersion());
+        loadedDependencies.add(getModelKey(model));
 
         return model;
     }
 
+    /**
+     * Generate a unique key for a pom model, matching the key of its artifact.
+     *
+     * @param model Pom model
+     * @return Unique key for the given model
+     */
+    private static String getModelKey(Model model) {
+        return model.getGroupId()
+                + ":" + model.getArtifactId()
+                + ":" + model.getPackaging()
+                + ":" + model.getVersion();
+    }
+
     /**
      * Load pom.xml dependencies and try download them if needed if flag downloadWithMaven is true.
      *
@@ -305,24 +366,165 @@ public class DependencyManager {
      * @throws DependencyResolutionException In case of dependency resolution error
      */
     public Set<URL> loadModulesDependencies(Set<URL> jarModulesURLs) throws IOException, DependencyResolutionException, ModelBuildingException {
-        Set<URL> dependenciesUrl = new HashSet<>();
+        return loadModulesDependencies(jarModulesURLs, new DependencyResolutionIndex());
+    }
 
-        // Register all pom files
+    /**
+     * Load all modules dependencies in list, reusing index resolutions of unchanged modules and resolving only new or
+     * changed ones, which are added to the index. In offline mode, modules are only resolved from offline store.
+     *
+     * @param jarModulesURLs List of modules JAR
+     * @param index Dependency resolution index
+     * @return List of dependencies URL
+     * @throws IOException In case of file access issues
+     * @throws ModelBuildingException In case of bad pom files
+     * @throws DependencyResolutionException In case of dependency resolution error
+     */
+    public Set<URL> loadModulesDependencies(Set<URL> jarModulesURLs, DependencyResolutionIndex index) throws IOException, DependencyResolutionException, ModelBuildingException {
+        List<File> jarFiles = new ArrayList<>();
         for (URL jarURL : jarModulesURLs) {
-            File pom = ClassUtils.getPomFile(ClassUtils.getJarFileFromURL(jarURL));
-            registerPom(pom);
+            jarFiles.add(ClassUtils.getJarFileFromURL(jarURL));
         }
+        index.retainModules(jarFiles);
+
+        List<DependencyResolutionIndex.ModuleResolution> resolutions = new ArrayList<>();
+        Map<File, Model> changedModules = new LinkedHashMap<>();
+        Set<String> moduleKeys = new HashSet<>();
+        for (File jarFile : jarFiles) {
+            DependencyResolutionIndex.ModuleResolution resolution = index.get(jarFile);
+            if (resolution == null && offlineStore != null) {
+                resolution = offlineStore.get(jarFile);
+                index.put(resolution);
+            }
+            if (resolution == null) {
+                // Register pom files of changed modules
+                Model model = registerPom(ClassUtils.getPomFile(jarFile));
+                changedModules.put(jarFile, model);
+                moduleKeys.add(getModelKey(model));
+            } else {
+                resolutions.add(resolution);
+                moduleKeys.add(resolution.getModuleKey());
+            }
+        }
+        loadedDependencies.addAll(moduleKeys);
 
-        // Load all dependencies
-        for (URL jarURL : jarModulesURLs) {
-            File jarFile = ClassUtils.getJarFileFromURL(jarURL);
-            dependenciesUrl.addAll(loadDependencies(ClassUtils.getPomFile(jarFile), true));
+        if (!changedModules.isEmpty()) {
+            LOGGER.debug("Resolve dependencies of " + changedModules.size() + " new or changed modules");
+            for (DependencyResolutionIndex.ModuleResolution resolution : resolveModules(changedModules, moduleKeys)) {
+                index.put(resolution);
+                resolutions.add(resolution);
+            }
+        }
+
+        Set<URL> dependenciesUrl = new HashSet<>();
+        for (DependencyResolutionIndex.ModuleResolution resolution : resolutions) {
+            dependenciesByModule.put(resolution.getArtifactId(), new HashSet<>(resolution.getDependencies()));
+            loadedDependencies.addAll(resolution.getArtifactKeys());
+            for (File artifactFile : resolution.getArtifactFiles()) {
+                dependenciesUrl.add(artifactFile.toURI().toURL());
+            }
         }
 
         // Return dependencies aggregated list
         return dependenciesUrl;
     }
 
+    /**
+     * Resolve dependencies of modules in parallel.
+     *
+     * @param modules Modules pom model by JAR file
+     * @param moduleKeys Keys of all modules
+     * @return Modules resolutions, in given modules order
+     * @throws DependencyResolutionException In case of dependency resolution error
+     */
+    private List<DependencyResolutionIndex.ModuleResolution> resolveModules(Map<File, Model> modules, Set<String> moduleKeys) throws DependencyResolutionException {
+        ExecutorService executor = BuildOrderExecutors.newFixedThreadPool(Math.min(modules.size(), MAX_PARALLEL_RESOLUTIONS));
+        try {
+            List<CompletableFuture<DependencyResolutionIndex.ModuleResolution>> futures = new ArrayList<>();
+            modules.forEach((jarFile, model) -> {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return resolveModule(jarFile, model, moduleKeys);
+                    } catch (DependencyResolutionException ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, executor));
+            });
+
+            List<DependencyResolutionIndex.ModuleResolution> resolutions = new ArrayList<>();
+            for (CompletableFuture<DependencyResolutionIndex.ModuleResolution> future : futures) {
+                resolutions.add(future.join());
+            }
+            return resolutions;
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof DependencyResolutionException) {
+                throw (DependencyResolutionException) ex.getCause();
+            }
+            throw ex;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Resolve all dependencies of a module with a single request, without other modules and build-in dependencies.
+     *
+     * @param jarFile Module JAR file
+     * @param model Module pom model
+     * @param moduleKeys Keys of all modules
+     * @return Module resolution
+     * @throws DependencyResolutionException In case of dependency resolution error
+     */
+    private DependencyResolutionIndex.ModuleResolution resolveModule(File jarFile, Model model, Set<String> moduleKeys) throws DependencyResolutionException {
+        Set<String> dependencies = new HashSet<>();
+        Map<String, Dependency> dependenciesToResolve = new LinkedHashMap<>();
+
+        for (org.apache.maven.model.Dependency d : model.getDependencies()) {
+            if (!d.getType().equals("war")) {
+                dependencies.add(d.getArtifactId());
+
+                Artifact artifact = new DefaultArtifact(
+                        d.getGroupId(),
+                        d.getArtifactId(),
+                        d.getClassifier(),
+                        d.getType(),
+                        d.getVersion()
+                );
+                String key = getArtifactKey(artifact);
+                if (!buildinDependencies.contains(key) && !moduleKeys.contains(key)) {
+                    LOGGER.debug(String.format("Loading dependency: %s", key));
+                    dependenciesToResolve.putIfAbsent(key, new Dependency(artifact, JavaScopes.COMPILE));
+                }
+            }
+        }
+
+        Map<String, File> artifactFiles = new LinkedHashMap<>();
+        if (!dependenciesToResolve.isEmpty()) {
+            CollectRequest collectRequest = new CollectRequest(
+                    new ArrayList<>(dependenciesToResolve.values()),
+                    null,
+                    getPomRemoteRepositories(model)
+            );
+
+            // Get artifact dependencies in compile scope
+            DependencyFilter filterScope = DependencyFilterUtils.classpathFilter(JavaScopes.COMPILE);
+            // Remove build-in dependencies from scope
+            DependencyFilter filterPattern = new PatternExclusionsDependencyFilter(buildinDependencies);
+            // Create dependency request
+            DependencyRequest request = new DependencyRequest(collectRequest, DependencyFilterUtils.orFilter(filterScope, filterPattern));
+            // Get all matching dependencies
+            DependencyResult results = system.resolveDependencies(session, request);
+            for (ArtifactResult result : results.getArtifactResults()) {
+                if (result.isResolved()) {
+                    Artifact resultArtifact = result.getArtifact();
+                    artifactFiles.put(getArtifactKey(resultArtifact), resultArtifact.getFile());
+                }
+            }
+        }
+
+        return new DependencyResolutionIndex.ModuleResolution(jarFile, getModelKey(model), model.getArtifactId(), dependencies, artifactFiles);
+    }
+
     /**
      * Build pom.xml model from pom.xml file.
      *
@@ -0,0 +1,318 @@
+package org.vue4j.modules;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vue4j.utils.FileUtils;
+
+/**
+ * <pre>
+ * Persistent index of modules dependencies resolution.
+ *
+ * For each module JAR, identified by its content hash, the index stores the
+ * module artifact, its direct dependencies and all artifacts files resolved
+ * for it. A module entry is reused as long as the module JAR and all its
+ * resolved artifacts files are unchanged, so only new or updated modules are
+ * resolved again. The whole index is loaded with a single file read.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class DependencyResolutionIndex {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(DependencyResolutionIndex.class);
+
+    private final static int MAGIC = 0x56344A44;
+
+    private final static int FORMAT_VERSION = 1;
+
+    private final Map<File, ModuleResolution> modules = new LinkedHashMap<>();
+
+    private boolean modified = false;
+
+    /**
+     * Read an index file.
+     *
+     * @param file Index file
+     * @return Index read, empty if file is missing, invalid or of another format version
+     */
+    public static DependencyResolutionIndex read(Path file) {
+        DependencyResolutionIndex index = new DependencyResolutionIndex();
+        if (!Files.isRegularFile(file)) {
+            return index;
+        }
+
+        try {
+            FileUtils.readVersionedFile(file, MAGIC, FORMAT_VERSION, (in) -> {
+                int moduleCount = in.readInt();
+                for (int i = 0; i < moduleCount; i++) {
+                    ModuleResolution module = readModule(in);
+                    index.modules.put(module.getJarFile(), module);
+                }
+            });
+        } catch (IOException ex) {
+            LOGGER.warn("Ignoring invalid dependency index: " + file, ex);
+            return new DependencyResolutionIndex();
+        }
+
+        return index;
+    }
+
+    /**
+     * Write index to a file, replacing any existing one.
+     *
+     * @param file Index file
+     * @throws IOException In case of file access issues
+     */
+    public synchronized void write(Path file) throws IOException {
+        FileUtils.writeVersionedFile(file, MAGIC, FORMAT_VERSION, (out) -> {
+            out.writeInt(modules.size());
+            for (ModuleResolution module : modules.values()) {
+                writeModule(out, module);
+            }
+        });
+        modified = false;
+    }
+
+    /**
+     * Return resolution of a module JAR if it's still valid.
+     *
+     * @param jarFile Module JAR file
+     * @return Module resolution, null if module is unknown or if module JAR or one of its artifacts changed
+     */
+    public synchronized ModuleResolution get(File jarFile) {
+        ModuleResolution module = modules.get(jarFile.getAbsoluteFile());
+        if (module == null) {
+            return null;
+        }
+
+        if (!module.jar.isUnchanged()) {
+            String hash = FileUtils.computeHash(jarFile);
+            if (hash == null || !hash.equals(module.jarHash)) {
+                LOGGER.debug("Module changed since last dependency resolution: " + jarFile.getPath());
+                return null;
+            }
+            // Same content with another timestamp, keep entry with current file attributes
+            module = new ModuleResolution(FileState.of(jarFile), hash, module.moduleKey, module.artifactId, module.dependencies, module.artifacts);
+            put(module);
+        }
+
+        for (FileState artifact : module.artifacts.values()) {
+            if (!artifact.isUnchanged()) {
+                LOGGER.debug("Dependency changed since last resolution: " + artifact.file.getPath());
+                return null;
+            }
+        }
+
+        return module;
+    }
+
+    /**
+     * Add or replace resolution of a module.
+     *
+     * @param module Module resolution
+     */
+    public synchronized void put(ModuleResolution module) {
+        modules.put(module.getJarFile(), module);
+        modified = true;
+    }
+
+    /**
+     * Remove resolutions of modules which are not part of given JAR files.
+     *
+     * @param jarFiles Current modules JAR files
+     */
+    public synchronized void retainModules(Collection<File> jarFiles) {
+        Set<File> retainedFiles = new HashSet<>();
+        jarFiles.forEach((jarFile) -> retainedFiles.add(jarFile.getAbsoluteFile()));
+        modified |= modules.keySet().retainAll(retainedFiles);
+    }
+
+    /**
+     * Check if index changed since it was read or written.
+     *
+     * @return true if index must be written
+     */
+    public synchronized boolean isModified() {
+        return modified;
+    }
+
+    private static void writeModule(DataOutputStream out, ModuleResolution module) throws IOException {
+        writeFileState(out, module.jar);
+        out.writeUTF(module.jarHash);
+        out.writeUTF(module.moduleKey);
+        out.writeUTF(module.artifactId);
+        out.writeInt(module.dependencies.size());
+        for (String dependency : module.dependencies) {
+            out.writeUTF(dependency);
+        }
+        out.writeInt(module.artifacts.size());
+        for (Map.Entry<String, FileState> artifact : module.artifacts.entrySet()) {
+            out.writeUTF(artifact.getKey());
+            writeFileState(out, artifact.getValue());
+        }
+    }
+
+    private static ModuleResolution readModule(DataInputStream in) throws IOException {
+        FileState jar = readFileState(in);
+        String jarHash = in.readUTF();
+        String moduleKey = in.readUTF();
+        String artifactId = in.readUTF();
+
+        int dependencyCount = in.readInt();
+        Set<String> dependencies = new LinkedHashSet<>();
+        for (int i = 0; i < dependencyCount; i++) {
+            dependencies.add(in.readUTF());
+        }
+
+        int artifactCount = in.readInt();
+        Map<String, FileState> artifacts = new LinkedHashMap<>();
+        for (int i = 0; i < artifactCount; i++) {
+            artifacts.put(in.readUTF(), readFileState(in));
+        }
+
+        return new ModuleResolution(jar, jarHash, moduleKey, artifactId, dependencies, artifacts);
+    }
+
+    private static void writeFileState(DataOutputStream out, FileState state) throws IOException {
+        out.writeUTF(state.file.getPath());
+        out.writeLong(state.lastModified);
+        out.writeLong(state.size);
+    }
+
+    private static FileState readFileState(DataInputStream in) throws IOException {
+        return new FileState(new File(in.readUTF()), in.readLong(), in.readLong());
+    }
+
+    /**
+     * Resolved dependencies of a module JAR.
+     */
+    public static class ModuleResolution {
+
+        private final FileState jar;
+
+        private final String jarHash;
+
+        private final String moduleKey;
+
+        private final String artifactId;
+
+        private final Set<String> dependencies;
+
+        private final Map<String, FileState> artifacts;
+
+        private ModuleResolution(FileState jar, String jarHash, String moduleKey, String artifactId, Set<String> dependencies, Map<String, FileState> artifacts) {
+            this.jar = jar;
+            this.jarHash = jarHash;
+            this.moduleKey = moduleKey;
+            this.artifactId = artifactId;
+            this.dependencies = Collections.unmodifiableSet(dependencies);
+            this.artifacts = Collections.unmodifiableMap(artifacts);
+        }
+
+        /**
+         * Constructor for a newly resolved module.
+         *
+         * @param jarFile Module JAR file
+         * @param moduleKey Module artifact key
+         * @param artifactId Module artifact identifier
+         * @param dependencies Artifact identifiers of module direct dependencies
+         * @param artifactFiles Files of artifacts resolved for module by artifact key
+         */
+        public ModuleResolution(File jarFile, String moduleKey, String artifactId, Set<String> dependencies, Map<String, File> artifactFiles) {
+            this.jar = FileState.of(jarFile);
+            this.jarHash = FileUtils.computeHash(jarFile);
+            if (this.jarHash == null) {
+                throw new IllegalArgumentException("Module JAR file can not be read: " + jarFile.getPath());
+            }
+            this.moduleKey = moduleKey;
+            this.artifactId = artifactId;
+            this.dependencies = Collections.unmodifiableSet(new LinkedHashSet<>(dependencies));
+            Map<String, FileState> artifactStates = new LinkedHashMap<>();
+            artifactFiles.forEach((key, file) -> artifactStates.put(key, FileState.of(file)));
+            this.artifacts = Collections.unmodifiableMap(artifactStates);
+        }
+
+        public File getJarFile() {
+            return jar.file;
+        }
+
+        public String getJarHash() {
+            return jarHash;
+        }
+
+        public String getModuleKey() {
+            return moduleKey;
+        }
+
+        public String getArtifactId() {
+            return artifactId;
+        }
+
+        public Set<String> getDependencies() {
+            return dependencies;
+        }
+
+        public Set<String> getArtifactKeys() {
+            return artifacts.keySet();
+        }
+
+        public List<File> getArtifactFiles() {
+            List<File> files = new ArrayList<>(artifacts.size());
+            artifacts.values().forEach((artifact) -> files.add(artifact.file));
+            return files;
+        }
+
+        /**
+         * Return files of artifacts resolved for module.
+         *
+         * @return Artifact files by artifact key
+         */
+        public Map<String, File> getArtifacts() {
+            Map<String, File> files = new LinkedHashMap<>();
+            artifacts.forEach((key, artifact) -> files.put(key, artifact.file));
+            return files;
+        }
+    }
+
+    /**
+     * File with its attributes when indexed.
+     */
+    private static class FileState {
+
+        private final File file;
+
+        private final long lastModified;
+
+        private final long size;
+
+        private FileState(File file, long lastModified, long size) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        private static FileState of(File file) {
+            File absoluteFile = file.getAbsoluteFile();
+            return new FileState(absoluteFile, absoluteFile.lastModified(), absoluteFile.length());
+        }
+
+        private boolean isUnchanged() {
+            return file.isFile() && file.lastModified() == lastModified && file.length() == size;
+        }
+    }
+}
@@ -0,0 +1,491 @@
+package org.vue4j.modules;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vue4j.utils.ClassUtils;
+
+/**
+ * <pre>
+ * Single class loader for all modules and their dependencies.
+ *
+ * Each JAR file is opened once and its entries are indexed by directory, so
+ * class and resource lookups only read the JAR files containing the requested
+ * package instead of walking a chain of class loaders. Classes directories are
+ * not indexed as their content may change, they are always looked up
+ * directly. Sources are looked up in the order they were added. Classes are
+ * loaded from parent class loader first. Resources streams are read from the already
+ * opened JAR files. Closing the class loader releases all JAR files and closes
+ * resources streams still open.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class ModuleClassLoader extends ClassLoader implements Closeable {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ModuleClassLoader.class);
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private final Set<URL> urls = new LinkedHashSet<>();
+
+    private final List<ClassSource> sources = new CopyOnWriteArrayList<>();
+
+    /**
+     * JAR sources containing at least one entry by directory path, "" for root directory.
+     */
+    private final ConcurrentMap<String, List<ClassSource>> sourcesByDirectory = new ConcurrentHashMap<>();
+
+    /**
+     * Classes directories sources, looked up for any path.
+     */
+    private final List<ClassSource> directorySources = new CopyOnWriteArrayList<>();
+
+    /**
+     * Resources streams opened by this class loader, closed with it.
+     */
+    private final Map<Closeable, Void> resourceStreams = new WeakHashMap<>();
+
+    private volatile boolean closed = false;
+
+    public ModuleClassLoader(ClassLoader parent) {
+        super("vue4j-modules", parent);
+    }
+
+    /**
+     * Add JAR files or classes directories to class loader, already added ones are ignored.
+     *
+     * @param urlsToAdd JAR files or classes directories URLs
+     */
+    public synchronized void addURLs(Collection<URL> urlsToAdd) {
+        if (closed) {
+            throw new IllegalStateException("Module class loader is closed");
+        }
+
+        for (URL url : urlsToAdd) {
+            if (!urls.add(url)) {
+                continue;
+            }
+
+            File location = ClassUtils.getJarFileFromURL(url);
+            try {
+                if (location.isDirectory()) {
+                    ClassSource source = new DirectorySource(url, location.toPath(), sources.size());
+                    sources.add(source);
+                    directorySources.add(source);
+                } else if (location.isFile()) {
+                    JarSource source = new JarSource(url, location, sources.size());
+                    sources.add(source);
+                    source.getDirectories().forEach((directory) -> {
+                        sourcesByDirectory.computeIfAbsent(directory, (key) -> new CopyOnWriteArrayList<>()).add(source);
+                    });
+                } else {
+                    LOGGER.warn("Ignoring missing class path entry: " + url);
+                }
+            } catch (IOException ex) {
+                LOGGER.error("Error while opening class path entry: " + url, ex);
+            }
+        }
+    }
+
+    /**
+     * Return URLs added to class loader.
+     *
+     * @return JAR files or classes directories URLs
+     */
+    public synchronized URL[] getURLs() {
+        return urls.toArray(new URL[urls.size()]);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        String path = name.replace('.', '/').concat(".class");
+        for (ClassSource source : getSources(path)) {
+            try {
+                byte[] bytes = source.read(path);
+                if (bytes != null) {
+                    definePackage(name, source);
+                    return defineClass(name, bytes, 0, bytes.length, source.protectionDomain);
+                }
+            } catch (IOException ex) {
+                throw new ClassNotFoundException(name, ex);
+            }
+        }
+
+        throw new ClassNotFoundException(name);
+    }
+
+    @Override
+    protected URL findResource(String name) {
+        for (ClassSource source : getSources(name)) {
+            URL url = source.getResource(name);
+            if (url != null) {
+                return url;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    protected Enumeration<URL> findResources(String name) throws IOException {
+        List<URL> resources = new ArrayList<>();
+        for (ClassSource source : getSources(name)) {
+            URL url = source.getResource(name);
+            if (url != null) {
+                resources.add(url);
+            }
+        }
+
+        return Collections.enumeration(resources);
+    }
+
+    /**
+     * Return a resource stream, from parent class loader first then directly from the JAR file or directory containing
+     * it.
+     *
+     * @param name Resource name
+     * @return Resource stream or null if not found
+     */
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        Objects.requireNonNull(name);
+        if (getParent() == null) {
+            return super.getResourceAsStream(name);
+        }
+
+        InputStream in = getParent().getResourceAsStream(name);
+        if (in != null) {
+            return in;
+        }
+
+        for (ClassSource source : getSources(name)) {
+            try {
+                in = source.openStream(name);
+            } catch (IOException | IllegalStateException ex) {
+                // Resource can not be read from this source or class loader closed concurrently
+                LOGGER.debug("Error while opening resource: " + name + " from " + source.url, ex);
+                continue;
+            }
+            if (in != null) {
+                synchronized (resourceStreams) {
+                    resourceStreams.put(in, null);
+                }
+                return in;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Close all JAR files and resources streams, classes not loaded yet can not be loaded anymore.
+     *
+     * @throws IOException If a JAR file can not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        IOException closeException = null;
+        synchronized (resourceStreams) {
+            for (Closeable stream : resourceStreams.keySet()) {
+                try {
+                    stream.close();
+                } catch (IOException ex) {
+                    closeException = ex;
+                }
+            }
+            resourceStreams.clear();
+        }
+        for (ClassSource source : sources) {
+            try {
+                source.close();
+            } catch (IOException ex) {
+                closeException = ex;
+            }
+        }
+        sources.clear();
+        sourcesByDirectory.clear();
+        directorySources.clear();
+
+        if (closeException != null) {
+            throw closeException;
+        }
+    }
+
+    /**
+     * Return JAR sources containing the directory of the given path and all classes directories, in added order.
+     */
+    private List<ClassSource> getSources(String path) {
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        List<ClassSource> jarSources = sourcesByDirectory.getOrDefault(path.substring(0, path.lastIndexOf('/') + 1), Collections.emptyList());
+        if (directorySources.isEmpty()) {
+            return jarSources;
+        }
+        if (jarSources.isEmpty()) {
+            return directorySources;
+        }
+
+        List<ClassSource> pathSources = new ArrayList<>(jarSources.size() + directorySources.size());
+        int directoryIndex = 0;
+        for (ClassSource jarSource : jarSources) {
+            while (directoryIndex < directorySources.size() && directorySources.get(directoryIndex).position < jarSource.position) {
+                pathSources.add(directorySources.get(directoryIndex++));
+            }
+            pathSources.add(jarSource);
+        }
+        pathSources.addAll(directorySources.subList(directoryIndex, directorySources.size()));
+        return pathSources;
+    }
+
+    private void definePackage(String className, ClassSource source) {
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot < 0) {
+            return;
+        }
+
+        String packageName = className.substring(0, lastDot);
+        if (getDefinedPackage(packageName) != null) {
+            return;
+        }
+
+        Attributes mainAttributes = null;
+        Attributes packageAttributes = null;
+        if (source.manifest != null) {
+            mainAttributes = source.manifest.getMainAttributes();
+            packageAttributes = source.manifest.getAttributes(packageName.replace('.', '/') + "/");
+        }
+
+        try {
+            definePackage(packageName,
+                    getAttribute(Attributes.Name.SPECIFICATION_TITLE, packageAttributes, mainAttributes),
+                    getAttribute(Attributes.Name.SPECIFICATION_VERSION, packageAttributes, mainAttributes),
+                    getAttribute(Attributes.Name.SPECIFICATION_VENDOR, packageAttributes, mainAttributes),
+                    getAttribute(Attributes.Name.IMPLEMENTATION_TITLE, packageAttributes, mainAttributes),
+                    getAttribute(Attributes.Name.IMPLEMENTATION_VERSION, packageAttributes, mainAttributes),
+                    getAttribute(Attributes.Name.IMPLEMENTATION_VENDOR, packageAttributes, mainAttributes),
+                    null
+            );
+        } catch (IllegalArgumentException ex) {
+            // Package defined concurrently by another thread
+        }
+    }
+
+    private static String getAttribute(Attributes.Name name, Attributes packageAttributes, Attributes mainAttributes) {
+        String value = null;
+        if (packageAttributes != null) {
+            value = packageAttributes.getValue(name);
+        }
+        if (value == null && mainAttributes != null) {
+            value = mainAttributes.getValue(name);
+        }
+        return value;
+    }
+
+    /**
+     * JAR file or classes directory added to class loader.
+     */
+    private abstract class ClassSource implements Closeable {
+
+        protected final URL url;
+
+        protected final ProtectionDomain protectionDomain;
+
+        /**
+         * Position of source in class loader sources.
+         */
+        protected final int position;
+
+        protected Manifest manifest;
+
+        private ClassSource(URL url, int position) {
+            this.url = url;
+            this.position = position;
+            this.protectionDomain = new ProtectionDomain(new CodeSource(url, (CodeSigner[]) null), null, ModuleClassLoader.this, null);
+        }
+
+        /**
+         * Return entry content or null if missing.
+         */
+        protected abstract byte[] read(String path) throws IOException;
+
+        /**
+         * Return entry URL or null if missing.
+         */
+        protected abstract URL getResource(String path);
+
+        /**
+         * Open entry stream or return null if missing.
+         */
+        protected abstract InputStream openStream(String path) throws IOException;
+    }
+
+    private class JarSource extends ClassSource {
+
+        private final JarFile jarFile;
+
+        private JarSource(URL url, File file, int position) throws IOException {
+            super(url, position);
+            this.jarFile = new JarFile(file, false, ZipFile.OPEN_READ, JarFile.runtimeVersion());
+            this.manifest = jarFile.getManifest();
+        }
+
+        /**
+         * Return paths of all directories containing an entry, ending with "/".
+         */
+        private Set<String> getDirectories() {
+            Set<String> directories = new LinkedHashSet<>();
+            try (Stream<JarEntry> entries = jarFile.versionedStream()) {
+                entries.forEach((entry) -> {
+                    String name = entry.getName();
+                    directories.add(name.substring(0, name.lastIndexOf('/') + 1));
+                    if (entry.isDirectory()) {
+                        directories.add(name.substring(0, name.lastIndexOf('/', name.length() - 2) + 1));
+                    }
+                });
+            }
+            return directories;
+        }
+
+        @Override
+        protected byte[] read(String path) throws IOException {
+            JarEntry entry = jarFile.getJarEntry(path);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream in = jarFile.getInputStream(entry)) {
+                return in.readAllBytes();
+            }
+        }
+
+        @Override
+        protected URL getResource(String path) {
+            if (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+            if (jarFile.getJarEntry(path) == null) {
+                return null;
+            }
+            try {
+                return new URL("jar:" + url.toExternalForm() + "!/" + path);
+            } catch (MalformedURLException ex) {
+                LOGGER.warn("Invalid resource URL: " + path, ex);
+                return null;
+            }
+        }
+
+        @Override
+        protected InputStream openStream(String path) throws IOException {
+            if (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+            JarEntry entry = jarFile.getJarEntry(path);
+            if (entry == null) {
+                return null;
+            }
+            return jarFile.getInputStream(entry);
+        }
+
+        @Override
+        public void close() throws IOException {
+            jarFile.close();
+        }
+    }
+
+    private class DirectorySource extends ClassSource {
+
+        private final Path root;
+
+        private DirectorySource(URL url, Path root, int position) {
+            super(url, position);
+            this.root = root;
+            Path manifestFile = root.resolve(JarFile.MANIFEST_NAME);
+            if (Files.isRegularFile(manifestFile)) {
+                try (InputStream in = Files.newInputStream(manifestFile)) {
+                    this.manifest = new Manifest(in);
+                } catch (IOException ex) {
+                    LOGGER.warn("Error while reading manifest: " + manifestFile, ex);
+                }
+            }
+        }
+
+        @Override
+        protected byte[] read(String path) throws IOException {
+            Path file = root.resolve(path);
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            return Files.readAllBytes(file);
+        }
+
+        @Override
+        protected URL getResource(String path) {
+            if (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+            Path file = root.resolve(path);
+            if (!Files.exists(file)) {
+                return null;
+            }
+            try {
+                return file.toUri().toURL();
+            } catch (MalformedURLException ex) {
+                LOGGER.warn("Invalid resource URL: " + path, ex);
+                return null;
+            }
+        }
+
+        @Override
+        protected InputStream openStream(String path) throws IOException {
+            if (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+            Path file = root.resolve(path);
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            return Files.newInputStream(file);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.vue4j.modules;
+
+/**
+ * Lifecycle phases executed on all modules at startup.
+ *
+ * @author Vincent Migot
+ */
+public enum ModuleLifeCyclePhase {
+    CONFIGURE,
+    ACTIVATE,
+    START
+}
@@ -17,5 +17,6 @@ public enum ModuleLifeCycleStatus {
     ACTIVATION_ERROR,
     STARTED,
     STARTING_ERROR,
-    STOPPING_ERROR
+    STOPPING_ERROR,
+    DEPENDENCY_ERROR
 }
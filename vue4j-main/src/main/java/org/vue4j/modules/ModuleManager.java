@@ -6,32 +6,33 @@
 package org.vue4j.modules;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.net.URLClassLoader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
-import org.apache.commons.io.FileUtils;
-import org.apache.maven.model.Model;
+import java.util.function.Predicate;
 import org.apache.maven.model.building.ModelBuildingException;
-import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.eclipse.aether.resolution.DependencyResolutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vue4j.Vue4J;
 import org.vue4j.utils.ClassUtils;
-import org.vue4j.utils.bo.BuildOrder;
+import org.vue4j.utils.bo.BuildOrderExecutors;
+import org.vue4j.utils.bo.BuildOrderGraph;
+import org.vue4j.utils.bo.BuildOrderResult;
 import org.vue4j.utils.bo.BuildOrderSync;
 import org.vue4j.utils.bo.BuildOrderUnsolvableException;
 
@@ -49,9 +50,16 @@ public class ModuleManager {
     private final static String MODULES_JAR_FOLDER = "modules";
 
     /**
-     * Dependencies cache file to avoid unneeded multiple downloads.
+     * Dependencies resolution index file to avoid resolving unchanged modules again.
      */
-    private final static String DEPENDENCIES_LIST_CACHE_FILE = "vue4j.dependencies.cache";
+    private final static String DEPENDENCIES_INDEX_FILE = "vue4j.dependencies.index";
+
+    /**
+     * Artifacts metadata cache file to avoid reading unchanged JAR files on each start.
+     */
+    private final static String ARTIFACTS_METADATA_CACHE_FILE = "vue4j.artifacts.cache";
+
+    private final static ArtifactMetadataCache ARTIFACTS_METADATA = new ArtifactMetadataCache();
 
     private final DependencyManager dependencyManager;
 
@@ -59,49 +67,116 @@ public class ModuleManager {
 
     private final Path baseDirectory;
 
-    private BuildOrder<Vue4JModule> buildOrder = null;
+    /**
+     * Resolve modules dependencies only from offline repository.
+     */
+    private final boolean offline;
+
+    /**
+     * Class loader of all modules and their dependencies.
+     */
+    private final ModuleClassLoader classLoader;
+
+    /**
+     * Dependencies resolution of current modules.
+     */
+    private DependencyResolutionIndex dependencyIndex;
+
+    private volatile BuildOrderGraph<Vue4JModule> buildOrder = null;
+
+    /**
+     * Lookup index of modules, set with build order.
+     */
+    private volatile ModuleRegistry registry = null;
+
+    /**
+     * Timings of lifecycle phases executed on modules, null until a phase is executed.
+     */
+    private ModuleStartupReport startupReport = null;
+
+    /**
+     * Emit a Flight Recorder event for each module lifecycle phase.
+     */
+    private boolean lifeCycleEvents = false;
+
+    /**
+     * Executor of parallel modules actions, shared default one until system configuration is loaded.
+     */
+    private ExecutorService modulesExecutor = BuildOrderExecutors.getDefaultExecutor();
 
-    private final Map<String, Vue4JModule> moduleByID = new HashMap<>();
+    /**
+     * Class names of modules which must not be loaded.
+     */
+    private final Set<String> ignoredModules = new HashSet<>();
 
     public ModuleManager(Path baseDirectory) throws IOException, ModelBuildingException, DependencyResolutionException {
+        this(baseDirectory, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param baseDirectory Base directory containing modules
+     * @param offline Flag to resolve modules dependencies only from offline repository of base directory
+     * @throws IOException In case of file access issues
+     * @throws ModelBuildingException In case of bad pom files
+     * @throws DependencyResolutionException In case of dependency resolution error
+     */
+    public ModuleManager(Path baseDirectory, boolean offline) throws IOException, ModelBuildingException, DependencyResolutionException {
+        this.classLoader = new ModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        Thread.currentThread().setContextClassLoader(classLoader);
+
+        OfflineArtifactStore offlineStore = null;
+        if (offline) {
+            offlineStore = new OfflineArtifactStore(baseDirectory.resolve(OfflineArtifactStore.DEFAULT_DIRECTORY));
+            LOGGER.info("Resolve modules dependencies offline from: " + offlineStore.getDirectory());
+        }
         this.dependencyManager = new DependencyManager(
                 ClassUtils.getPomFile(Vue4J.class,
-                        "org.vue4j", "vue4j-main")
+                        "org.vue4j", "vue4j-main"),
+                offlineStore
         );
         this.baseDirectory = baseDirectory;
+        this.offline = offline;
         this.modulesURLs = loadModulesWithDependencies();
+
+        ARTIFACTS_METADATA.load(baseDirectory.resolve(ARTIFACTS_METADATA_CACHE_FILE));
+        List<File> modulesFiles = new ArrayList<>();
+        modulesURLs.forEach((moduleURL) -> modulesFiles.add(ClassUtils.getJarFileFromURL(moduleURL)));
+        ARTIFACTS_METADATA.preload(modulesFiles, BuildOrderExecutors.getDefaultExecutor());
     }
 
     /**
-     * Load modules with their dependencies, downloading them if needed.
+     * Load modules with their dependencies, downloading them if needed. Only new or changed modules are resolved,
+     * other ones are read from dependencies index.
      *
      * @return list of loaded JAR URLs
      */
     private Set<URL> loadModulesWithDependencies() {
-        // Read existing dependencies from cache file
-        Set<URL> readDependencies = ModuleManager.readDependencies(baseDirectory);
-
         // Get list of modules URL
         Set<URL> urls = ModuleManager.listModulesURLs(baseDirectory);
 
-        // If some modules are not listed in dependencies or no dependencies were read
-        if (!readDependencies.containsAll(urls)) {
-            // If some modules have not been previously registred
-            List<URL> missingModules = new ArrayList<URL>(urls);
-            missingModules.removeAll(readDependencies);
-
-            // Get modules dependencies and load them
-            Set<URL> dependencies = loadModulesWithDependencies(dependencyManager, urls);
-
-            // Rewrite old & new dependencies in cache file
-            dependencies.addAll(readDependencies);
+        Path indexFile = baseDirectory.resolve(DEPENDENCIES_INDEX_FILE);
+        DependencyResolutionIndex index = DependencyResolutionIndex.read(indexFile);
+        dependencyIndex = index;
+        try {
+            Set<URL> dependencies = dependencyManager.loadModulesDependencies(urls, index);
             dependencies.removeAll(urls);
-            ModuleManager.writeDependencies(baseDirectory, dependencies);
+            registerDependencies(dependencies);
+        } catch (Exception ex) {
+            if (offline) {
+                // Modules can not work without their dependencies, stop with offline repository error
+                throw new IllegalStateException(ex.getMessage(), ex);
+            }
+            LOGGER.error("Error while loading modules with dependencies", ex);
+        }
 
-            registerDependencies(readDependencies);
-        } else {
-            // Otherwise simply register known dependencies
-            registerDependencies(readDependencies);
+        if (index.isModified()) {
+            try {
+                index.write(indexFile);
+            } catch (IOException ex) {
+                LOGGER.error("Error while writing dependency index", ex);
+            }
         }
 
         registerDependencies(urls);
@@ -113,25 +188,25 @@ public class ModuleManager {
     }
 
     /**
-     * Load modules and their dependencies.
+     * Copy current modules with all their resolved dependencies to an offline repository.
      *
-     * @param dependencyManager Dependency manager to load dependencies
-     * @param modulesJarURLs List of module JAR URLs
-     * @return List of all dependencies for modules and the modules themselves
+     * @param directory Offline repository directory
+     * @return Number of exported modules
+     * @throws IOException If a module dependencies are not resolved or in case of file access issues
      */
-    private Set<URL> loadModulesWithDependencies(DependencyManager dependencyManager, Set<URL> modulesJarURLs) {
-        try {
-            // Load module dependencies and get the list
-            Set<URL> dependenciesURL = dependencyManager.loadModulesDependencies(modulesJarURLs);
-
-            // Register all dependencies and modules
-            registerDependencies(dependenciesURL);
-            return dependenciesURL;
-        } catch (Exception ex) {
-            LOGGER.error("Error while loading modules with dependencies", ex);
+    public int exportOfflineRepository(Path directory) throws IOException {
+        OfflineArtifactStore store = new OfflineArtifactStore(directory);
+        for (URL moduleURL : modulesURLs) {
+            File jarFile = ClassUtils.getJarFileFromURL(moduleURL);
+            DependencyResolutionIndex.ModuleResolution resolution = dependencyIndex.get(jarFile);
+            if (resolution == null) {
+                throw new IOException("Dependencies of module are not resolved: " + jarFile.getPath());
+            }
+            store.add(resolution);
         }
+        store.write();
 
-        return null;
+        return modulesURLs.size();
     }
 
     /**
@@ -146,19 +221,28 @@ public class ModuleManager {
             });
         }
 
-        // Load dependencies through URL Class Loader based on actual class loader
-        if (dependenciesURL.size() > 0) {
-            URLClassLoader classLoader = new URLClassLoader(
-                    dependenciesURL.toArray(new URL[dependenciesURL.size()]),
-                    Thread.currentThread().getContextClassLoader()
-            );
-            LOGGER.debug("JAR URLs added to classpath");
+        classLoader.addURLs(dependenciesURL);
+    }
 
-            // Set the newly created class loader as the main one
-            Thread.currentThread().setContextClassLoader(classLoader);
-        } else {
-            LOGGER.debug("No URLs added to classpath !");
+    /**
+     * Return class loader of all modules and their dependencies.
+     *
+     * @return Modules class loader
+     */
+    public ModuleClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Shut down modules executor unless it's the shared default one and release modules JAR files.
+     *
+     * @throws IOException If a JAR file can not be closed
+     */
+    public void close() throws IOException {
+        if (modulesExecutor != BuildOrderExecutors.getDefaultExecutor()) {
+            modulesExecutor.shutdown();
         }
+        classLoader.close();
     }
 
     
@@ -171,64 +255,196 @@ public class ModuleManager {
         return modulesURLs;
     }
     
+    /**
+     * Define class names of modules which must not be loaded, must be called before modules are loaded.
+     *
+     * @param ignoredModules Ignored modules class names
+     */
+    public void setIgnoredModules(Collection<String> ignoredModules) {
+        this.ignoredModules.addAll(ignoredModules);
+    }
+
     /**
      * Return an Iterable of modules to do custom loop logic.
      *
+     * <pre>
+     * Modules classes are discovered without instantiating them and ordered from
+     * their artifacts dependencies, then only modules which are not ignored are
+     * instantiated in parallel.
+     * </pre>
+     *
      * @return Iterable of modules
      */
-    public BuildOrder<Vue4JModule> getBuildOrder() throws BuildOrderUnsolvableException {
+    public BuildOrderGraph<Vue4JModule> getBuildOrder() throws BuildOrderUnsolvableException {
         if (buildOrder == null) {
+            buildModulesOrder();
+        }
 
-            Set<Vue4JModule> modules = new HashSet<>();
-            Iterator<Vue4JModule> i = ServiceLoader.load(Vue4JModule.class, Vue4J.getClassLoader()).iterator();
-            Map<String, Set<Vue4JModule>> modulesByArtifactId = new HashMap<>();
-            while (i.hasNext()) {
-                Vue4JModule module = i.next();
-                modules.add(module);
-                String artifactId = ModuleManager.getProjectIdFromClass(module.getClass());
-                if (!modulesByArtifactId.containsKey(artifactId)) {
-                    modulesByArtifactId.put(artifactId, new HashSet<>());
+        return buildOrder;
+    }
+
+    private synchronized void buildModulesOrder() throws BuildOrderUnsolvableException {
+        if (buildOrder == null) {
+
+            Map<Class<? extends Vue4JModule>, ServiceLoader.Provider<Vue4JModule>> providers = new LinkedHashMap<>();
+            Map<String, Set<Class<? extends Vue4JModule>>> modulesByArtifactId = new HashMap<>();
+            ServiceLoader.load(Vue4JModule.class, Vue4J.getClassLoader()).stream().forEach((provider) -> {
+                Class<? extends Vue4JModule> moduleClass = provider.type();
+                if (ignoredModules.contains(moduleClass.getName()) || ignoredModules.contains(moduleClass.getCanonicalName())) {
+                    LOGGER.info("Module ignored: " + moduleClass.getName());
+                } else if (providers.putIfAbsent(moduleClass, provider) == null) {
+                    String artifactId = ModuleManager.getProjectIdFromClass(moduleClass);
+                    modulesByArtifactId.computeIfAbsent(artifactId, (key) -> new HashSet<>()).add(moduleClass);
                 }
-                modulesByArtifactId.get(artifactId).add(module);
-            }
+            });
 
-            Map<String, Set<Vue4JModule>> modulesDependenciesByArtifactId = new HashMap<>();
-            modulesByArtifactId.keySet().forEach((artifactId) -> {
+            Map<Class<? extends Vue4JModule>, Set<Class<? extends Vue4JModule>>> moduleClassesDependencies = new HashMap<>();
+            modulesByArtifactId.forEach((artifactId, moduleClasses) -> {
                 Set<String> dependencies = dependencyManager.getModuleDependencies(artifactId);
-                Set<Vue4JModule> moduleDepencencies = new HashSet<Vue4JModule>();
-                dependencies.forEach((dependencyArtifactId) -> {
-                    if (modulesByArtifactId.containsKey(dependencyArtifactId)) {
-                        moduleDepencencies.addAll(modulesByArtifactId.get(dependencyArtifactId));
-                    }
-                });
-                modulesDependenciesByArtifactId.put(artifactId, moduleDepencencies);
+                Set<Class<? extends Vue4JModule>> moduleDependencies = new HashSet<>();
+                if (dependencies != null) {
+                    dependencies.forEach((dependencyArtifactId) -> {
+                        if (modulesByArtifactId.containsKey(dependencyArtifactId)) {
+                            moduleDependencies.addAll(modulesByArtifactId.get(dependencyArtifactId));
+                        }
+                    });
+                }
+                moduleClasses.forEach((moduleClass) -> moduleClassesDependencies.put(moduleClass, moduleDependencies));
             });
 
-            buildOrder = BuildOrder.getBuildOrderByDependencies(
-                    modules,
-                    (module) -> {
-                        return module.getID();
-                    }, (module) -> {
-                        moduleByID.put(module.getClass().getCanonicalName(), module);
-                        String artifactId = ModuleManager.getProjectIdFromClass(module.getClass());
-                        return modulesDependenciesByArtifactId.get(artifactId);
-                    });
+            // Sort modules classes before any module instantiation, instances keep classes order
+            BuildOrderGraph<Class<? extends Vue4JModule>> classesOrder = new BuildOrderGraph<>(providers.keySet(), moduleClassesDependencies, Class::getCanonicalName);
+
+            Map<Class<? extends Vue4JModule>, Vue4JModule> modules = instantiateModules(providers);
+
+            BuildOrderGraph<Vue4JModule> modulesOrder = classesOrder.map(modules::get);
+            registry = new ModuleRegistry(modulesOrder.getItems());
+            buildOrder = modulesOrder;
+            ARTIFACTS_METADATA.save(baseDirectory.resolve(ARTIFACTS_METADATA_CACHE_FILE));
         }
+    }
 
-        return buildOrder;
+    /**
+     * Instantiate modules in parallel.
+     *
+     * @param providers Modules providers by module class
+     * @return Modules by class, in providers order
+     */
+    private Map<Class<? extends Vue4JModule>, Vue4JModule> instantiateModules(Map<Class<? extends Vue4JModule>, ServiceLoader.Provider<Vue4JModule>> providers) {
+        Map<Class<? extends Vue4JModule>, CompletableFuture<Vue4JModule>> futures = new LinkedHashMap<>();
+        providers.forEach((moduleClass, provider) -> {
+            futures.put(moduleClass, CompletableFuture.supplyAsync(provider::get, modulesExecutor));
+        });
+
+        Map<Class<? extends Vue4JModule>, Vue4JModule> modules = new LinkedHashMap<>();
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[futures.size()])).join();
+            futures.forEach((moduleClass, future) -> modules.put(moduleClass, future.join()));
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            } else if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+
+        return modules;
     }
 
+    /**
+     * Return loaded module instance of a class.
+     *
+     * @param <T> Module class
+     * @param moduleClass Module class
+     * @return Module instance or null if not loaded or if modules are not loaded yet
+     */
     public <T> T getModule(Class<T> moduleClass) {
-        Vue4JModule module = moduleByID.get(moduleClass.getCanonicalName());
-        if (module == null) {
+        ModuleRegistry currentRegistry = registry;
+        if (currentRegistry == null) {
             return null;
-        } else {
-            return (T) module;
+        }
+        return currentRegistry.getModule(moduleClass);
+    }
+
+    /**
+     * Define executor of parallel modules actions, previously defined executor is shut down unless it's the shared
+     * default one.
+     *
+     * @param modulesExecutor Executor of parallel modules actions
+     */
+    public void setModulesExecutor(ExecutorService modulesExecutor) {
+        ExecutorService previousExecutor = this.modulesExecutor;
+        this.modulesExecutor = modulesExecutor;
+        if (previousExecutor != modulesExecutor && previousExecutor != BuildOrderExecutors.getDefaultExecutor()) {
+            previousExecutor.shutdown();
         }
     }
 
     public void forEachModules(Consumer<Vue4JModule> action) throws BuildOrderUnsolvableException {
-        getBuildOrder().execute(action);
+        getBuildOrder().execute(action, modulesExecutor);
+    }
+
+    /**
+     * Execute a lifecycle phase on modules, modules depending on a failed one are skipped and marked in dependency
+     * error while independent modules keep running. Phase timings are added to startup report.
+     *
+     * @param phase Lifecycle phase
+     * @param action Action to execute, returning false if module failed
+     * @return Failed and skipped modules with their timings
+     * @throws BuildOrderUnsolvableException if modules dependencies contain a cycle
+     */
+    public BuildOrderResult<Vue4JModule> forEachModulesChecked(ModuleLifeCyclePhase phase, Predicate<Vue4JModule> action) throws BuildOrderUnsolvableException {
+        BuildOrderGraph<Vue4JModule> graph = getBuildOrder();
+        Predicate<Vue4JModule> phaseAction = action;
+        if (lifeCycleEvents) {
+            phaseAction = (module) -> runWithEvent(module, phase, action);
+        }
+
+        BuildOrderResult<Vue4JModule> result = graph.executeChecked(phaseAction, modulesExecutor);
+        for (Vue4JModule module : result.getSkippedItems()) {
+            module.dependencyFailed(result.getSkipCause(module));
+        }
+
+        if (startupReport == null) {
+            startupReport = new ModuleStartupReport(graph);
+        }
+        startupReport.addPhase(phase, result);
+        LOGGER.debug("Modules " + phase + " phase done in " + (result.getDuration() / 1000000) + " ms");
+
+        return result;
+    }
+
+    private static boolean runWithEvent(Vue4JModule module, ModuleLifeCyclePhase phase, Predicate<Vue4JModule> action) {
+        ModulePhaseEvent event = new ModulePhaseEvent();
+        event.module = module.getID();
+        event.phase = phase.name();
+        event.begin();
+        try {
+            event.success = action.test(module);
+            return event.success;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Return timings of lifecycle phases executed on modules.
+     *
+     * @return Startup report, null if no phase was executed
+     */
+    public ModuleStartupReport getStartupReport() {
+        return startupReport;
+    }
+
+    /**
+     * Enable Flight Recorder events for modules lifecycle phases, events are only recorded when enabled in a
+     * recording.
+     *
+     * @param lifeCycleEvents true to emit events
+     */
+    public void setLifeCycleEvents(boolean lifeCycleEvents) {
+        this.lifeCycleEvents = lifeCycleEvents;
     }
 
     public void forEachModulesSync(Consumer<Vue4JModule> action) throws BuildOrderUnsolvableException {
@@ -236,7 +452,7 @@ public class ModuleManager {
     }
 
     public void forEachModulesReverse(Consumer<Vue4JModule> action) throws BuildOrderUnsolvableException {
-        getBuildOrder().executeReverse(action);
+        getBuildOrder().executeReverse(action, modulesExecutor);
     }
 
     /**
@@ -296,94 +512,32 @@ public class ModuleManager {
         return result;
     }
 
-    private static Map<Class<?>, String> artifactIdByClass = new HashMap<>();
-
     /**
-     * Return project (artifact) identifier from a class.
+     * Return project (artifact) identifier from a class, artifact manifest and pom are read once and cached.
      *
      * @param classFromProject class to use to find JAR/project/artifact
      * @return project identifier
      */
     public static String getProjectIdFromClass(Class<?> classFromProject) {
-        String projectId = classFromProject.getPackage().getImplementationTitle();
-        if (projectId == null) {
-            try {
-                if (artifactIdByClass.containsKey(classFromProject)) {
-                    projectId = artifactIdByClass.get(classFromProject);
-                } else {
-                    File pom = ClassUtils.getPomFile(classFromProject);
-                    MavenXpp3Reader reader = new MavenXpp3Reader();
-                    Model model = reader.read(new FileReader(pom));
-                    projectId = model.getArtifactId();
-                }
-            } catch (Exception ex) {
-                return "";
-            }
-        }
-
-        return projectId;
-    }
-
-    /**
-     * Utility method to read dependencies from cache file.
-     *
-     * @param baseDirectory Directory where dependency cache file is.
-     *
-     * @return Lsit of JAR dependencies URL
-     */
-    private static Set<URL> readDependencies(Path baseDirectory) {
         try {
-            // Check if depndency file exist
-            File dependencyFile = baseDirectory.resolve(DEPENDENCIES_LIST_CACHE_FILE).toFile();
-            Set<URL> dependencyURLs = new HashSet<>();
-
-            if (dependencyFile.isFile()) {
-                // If it's a file read all lines and add in the dependencyURLs list
-                for (String dependency : FileUtils.readLines(dependencyFile, StandardCharsets.UTF_8.name())) {
-                    dependencyURLs.add(new URL(dependency));
-                }
-            }
-
-            // Return the list
-            return dependencyURLs;
-        } catch (IOException ex) {
-            LOGGER.error("Error while reading dependency file", ex);
-            return null;
+            return ARTIFACTS_METADATA.getProjectId(classFromProject);
+        } catch (Exception ex) {
+            return "";
         }
     }
 
     /**
-     * Utility method to write dependencies URL to a cache file.
+     * Execute an action on modules implementing an extension, in build order.
      *
-     * @param baseDirectory Directory where dependency cache file is.
-     * @param dependencies Depndencies JAR URL list.
+     * @param <T> Extension class
+     * @param moduleExtensionClass Extension class or interface
+     * @param action Action to execute
+     * @throws BuildOrderUnsolvableException if modules dependencies contain a cycle
      */
-    private static void writeDependencies(Path baseDirectory, Set<URL> dependencies) {
-        try {
-            File dependencyFile = baseDirectory.resolve(DEPENDENCIES_LIST_CACHE_FILE).toFile();
-            if (dependencies.size() > 0) {
-                FileUtils.writeLines(dependencyFile, dependencies);
-            }
-        } catch (IOException ex) {
-            LOGGER.error("Error while writing dependency file", ex);
-        }
-    }
-
-    private Map<Class<?>, List<Vue4JModule>> moduleByExtensions = new HashMap<>();
-
     public <T> void forEachModulesImplementingExtension(Class<T> moduleExtensionClass, Consumer<T> action) throws BuildOrderUnsolvableException {
-        if (!moduleByExtensions.containsKey(moduleExtensionClass)) {
-            List<Vue4JModule> modules = new ArrayList<>();
-            getBuildOrder().executeSync((module) -> {
-                if (moduleExtensionClass.isAssignableFrom(module.getClass())) {
-                    modules.add(module);
-                }
-            });
-             moduleByExtensions.put(moduleExtensionClass, modules);
-        }
-        
-        moduleByExtensions.get(moduleExtensionClass).forEach((module) -> {
-            action.accept((T) module);
+        getBuildOrder();
+        registry.getModulesImplementing(moduleExtensionClass).forEach((module) -> {
+            action.accept(moduleExtensionClass.cast(module));
         });
     }
 }
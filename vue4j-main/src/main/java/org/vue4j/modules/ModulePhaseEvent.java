@@ -0,0 +1,28 @@
+package org.vue4j.modules;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event emitted for each module lifecycle phase when enabled in system configuration.
+ *
+ * @author Vincent Migot
+ */
+@Name("org.vue4j.ModulePhase")
+@Label("Module Lifecycle Phase")
+@Category("Vue4J")
+@Description("Execution of a lifecycle phase on a module")
+class ModulePhaseEvent extends Event {
+
+    @Label("Module")
+    String module;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Success")
+    boolean success;
+}
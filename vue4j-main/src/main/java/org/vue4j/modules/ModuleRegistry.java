@@ -0,0 +1,86 @@
+package org.vue4j.modules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <pre>
+ * Immutable lookup index of loaded modules, built once modules are ordered.
+ *
+ * Modules are indexed by class name and by each of their superclasses and
+ * implemented interfaces, in build order, so lookups are lock-free map reads
+ * which can be done from any thread.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public final class ModuleRegistry {
+
+    private final Map<String, Vue4JModule> modulesByClassName;
+
+    private final Map<Class<?>, List<Vue4JModule>> modulesByType;
+
+    /**
+     * Constructor.
+     *
+     * @param orderedModules Modules in build order
+     */
+    public ModuleRegistry(List<Vue4JModule> orderedModules) {
+        Map<String, Vue4JModule> byClassName = new HashMap<>();
+        Map<Class<?>, List<Vue4JModule>> byType = new HashMap<>();
+        for (Vue4JModule module : orderedModules) {
+            byClassName.put(module.getClass().getCanonicalName(), module);
+            for (Class<?> type : getTypes(module.getClass())) {
+                byType.computeIfAbsent(type, (key) -> new ArrayList<>()).add(module);
+            }
+        }
+
+        byType.replaceAll((type, modules) -> Collections.unmodifiableList(modules));
+        this.modulesByClassName = Collections.unmodifiableMap(byClassName);
+        this.modulesByType = Collections.unmodifiableMap(byType);
+    }
+
+    /**
+     * Return module instance of a class.
+     *
+     * @param <T> Module class
+     * @param moduleClass Module class
+     * @return Module instance or null if not loaded
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getModule(Class<T> moduleClass) {
+        return (T) modulesByClassName.get(moduleClass.getCanonicalName());
+    }
+
+    /**
+     * Return modules extending a class or implementing an interface.
+     *
+     * @param type Extension class or interface
+     * @return Unmodifiable list of modules in build order
+     */
+    public List<Vue4JModule> getModulesImplementing(Class<?> type) {
+        return modulesByType.getOrDefault(type, Collections.emptyList());
+    }
+
+    private static Set<Class<?>> getTypes(Class<?> moduleClass) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class<?> type = moduleClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            types.add(type);
+            addInterfaces(type, types);
+        }
+        return types;
+    }
+
+    private static void addInterfaces(Class<?> type, Set<Class<?>> types) {
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            if (types.add(interfaceType)) {
+                addInterfaces(interfaceType, types);
+            }
+        }
+    }
+}
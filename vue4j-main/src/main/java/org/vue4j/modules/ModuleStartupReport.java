@@ -0,0 +1,202 @@
+package org.vue4j.modules;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.vue4j.utils.bo.BuildOrderGraph;
+import org.vue4j.utils.bo.BuildOrderResult;
+
+/**
+ * <pre>
+ * Timings of modules lifecycle phases executed at startup.
+ *
+ * Phases are executed one after the other, each one as a dependency graph,
+ * so startup duration is bound by the sum of each phase critical path: the
+ * chain of dependent modules with the longest total duration.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class ModuleStartupReport {
+
+    /**
+     * Width of text timeline bars.
+     */
+    private final static int TIMELINE_WIDTH = 50;
+
+    private final BuildOrderGraph<Vue4JModule> buildOrder;
+
+    private final Map<ModuleLifeCyclePhase, BuildOrderResult<Vue4JModule>> phaseResults = new EnumMap<>(ModuleLifeCyclePhase.class);
+
+    ModuleStartupReport(BuildOrderGraph<Vue4JModule> buildOrder) {
+        this.buildOrder = buildOrder;
+    }
+
+    synchronized void addPhase(ModuleLifeCyclePhase phase, BuildOrderResult<Vue4JModule> result) {
+        phaseResults.put(phase, result);
+    }
+
+    /**
+     * Return result of a phase.
+     *
+     * @param phase Lifecycle phase
+     * @return Phase result, null if phase was not executed
+     */
+    public synchronized BuildOrderResult<Vue4JModule> getPhaseResult(ModuleLifeCyclePhase phase) {
+        return phaseResults.get(phase);
+    }
+
+    /**
+     * Return total duration of executed phases.
+     *
+     * @return Duration in nanoseconds
+     */
+    public synchronized long getDuration() {
+        return phaseResults.values().stream().mapToLong(BuildOrderResult::getDuration).sum();
+    }
+
+    /**
+     * Return duration of a phase for a module.
+     *
+     * @param module Module
+     * @param phase Lifecycle phase
+     * @return Duration in nanoseconds, 0 if phase was not executed on module
+     */
+    public long getDuration(Vue4JModule module, ModuleLifeCyclePhase phase) {
+        BuildOrderResult<Vue4JModule> result = getPhaseResult(phase);
+        return result == null ? 0 : result.getDuration(module);
+    }
+
+    /**
+     * Return duration of all phases for a module.
+     *
+     * @param module Module
+     * @return Duration in nanoseconds
+     */
+    public synchronized long getDuration(Vue4JModule module) {
+        return phaseResults.values().stream().mapToLong((result) -> result.getDuration(module)).sum();
+    }
+
+    /**
+     * Return the chain of dependent modules bounding a phase duration.
+     *
+     * @param phase Lifecycle phase
+     * @return Critical path modules, each one depending on the previous one, empty if phase was not executed
+     */
+    public List<Vue4JModule> getCriticalPath(ModuleLifeCyclePhase phase) {
+        BuildOrderResult<Vue4JModule> result = getPhaseResult(phase);
+        if (result == null) {
+            return new ArrayList<>();
+        }
+        return buildOrder.getCriticalPath(result::getDuration);
+    }
+
+    /**
+     * Return report as text with critical paths and a timeline of each phase.
+     *
+     * @return Text report
+     */
+    public synchronized String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append("Modules startup: ").append(formatDuration(getDuration())).append(System.lineSeparator());
+
+        int idWidth = buildOrder.getItems().stream().mapToInt((module) -> module.getID().length()).max().orElse(0);
+        phaseResults.forEach((phase, result) -> {
+            text.append(System.lineSeparator());
+            text.append(phase).append(": ").append(formatDuration(result.getDuration())).append(System.lineSeparator());
+            text.append("  critical path: ");
+            text.append(getCriticalPath(phase).stream().map((module) -> {
+                return module.getID() + " (" + formatDuration(result.getDuration(module)) + ")";
+            }).collect(Collectors.joining(" -> ")));
+            text.append(System.lineSeparator());
+
+            double scale = (double) TIMELINE_WIDTH / Math.max(1, result.getDuration());
+            for (Vue4JModule module : result.getExecutedItems()) {
+                int offset = Math.min(TIMELINE_WIDTH - 1, (int) (result.getStartOffset(module) * scale));
+                int width = Math.max(1, Math.min(TIMELINE_WIDTH - offset, (int) Math.round(result.getDuration(module) * scale)));
+                text.append(String.format(Locale.ROOT, "  %-" + idWidth + "s |", module.getID()));
+                text.append(repeat(' ', offset)).append(repeat('#', width)).append(repeat(' ', TIMELINE_WIDTH - offset - width));
+                text.append("| ").append(formatDuration(result.getDuration(module)));
+                if (result.getFailedItems().contains(module)) {
+                    text.append(" FAILED");
+                }
+                text.append(System.lineSeparator());
+            }
+            for (Vue4JModule module : result.getSkippedItems()) {
+                text.append(String.format(Locale.ROOT, "  %-" + idWidth + "s |", module.getID()));
+                text.append(repeat(' ', TIMELINE_WIDTH)).append("| SKIPPED (").append(result.getSkipCause(module).getID()).append(")");
+                text.append(System.lineSeparator());
+            }
+        });
+
+        text.append(System.lineSeparator()).append("Slowest modules:").append(System.lineSeparator());
+        buildOrder.getItems().stream()
+                .sorted(Comparator.comparingLong((Vue4JModule module) -> getDuration(module)).reversed())
+                .forEach((module) -> {
+                    text.append(String.format(Locale.ROOT, "  %-" + idWidth + "s  %s", module.getID(), formatDuration(getDuration(module))));
+                    text.append(System.lineSeparator());
+                });
+
+        return text.toString();
+    }
+
+    /**
+     * Return report as JSON, durations and start offsets in milliseconds.
+     *
+     * @return JSON report
+     * @throws JsonProcessingException If serialization fails
+     */
+    public synchronized String toJSON() throws JsonProcessingException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("duration", toMillis(getDuration()));
+
+        List<Map<String, Object>> phases = new ArrayList<>();
+        phaseResults.forEach((phase, result) -> {
+            Map<String, Object> phaseReport = new LinkedHashMap<>();
+            phaseReport.put("phase", phase.name());
+            phaseReport.put("duration", toMillis(result.getDuration()));
+            phaseReport.put("criticalPath", getCriticalPath(phase).stream().map(Vue4JModule::getID).collect(Collectors.toList()));
+
+            List<Map<String, Object>> modules = new ArrayList<>();
+            for (Vue4JModule module : result.getExecutedItems()) {
+                Map<String, Object> moduleReport = new LinkedHashMap<>();
+                moduleReport.put("id", module.getID());
+                moduleReport.put("start", toMillis(result.getStartOffset(module)));
+                moduleReport.put("duration", toMillis(result.getDuration(module)));
+                moduleReport.put("status", result.getFailedItems().contains(module) ? "FAILED" : "SUCCESS");
+                modules.add(moduleReport);
+            }
+            for (Vue4JModule module : result.getSkippedItems()) {
+                Map<String, Object> moduleReport = new LinkedHashMap<>();
+                moduleReport.put("id", module.getID());
+                moduleReport.put("status", "SKIPPED");
+                moduleReport.put("failedDependency", result.getSkipCause(module).getID());
+                modules.add(moduleReport);
+            }
+            phaseReport.put("modules", modules);
+            phases.add(phaseReport);
+        });
+        report.put("phases", phases);
+
+        return new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    private static String formatDuration(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1000000.0);
+    }
+
+    private static String repeat(char c, int count) {
+        return String.valueOf(c).repeat(Math.max(0, count));
+    }
+}
@@ -0,0 +1,220 @@
+package org.vue4j.modules;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vue4j.utils.FileUtils;
+
+/**
+ * <pre>
+ * Local content addressed store of modules dependencies, used to resolve them
+ * without any network or Maven repository access.
+ *
+ * Artifacts files are stored by content hash and modules by their JAR hash
+ * with their direct dependencies and the hash of each artifact resolved for
+ * them. A store is populated on a connected machine with modules resolved
+ * from Maven repositories, then copied with modules to offline nodes.
+ *
+ * Layout:
+ * - modules.index: modules entries
+ * - artifacts/[first 2 hash characters]/[hash]: artifacts files
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class OfflineArtifactStore {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(OfflineArtifactStore.class);
+
+    /**
+     * Default store directory, relative to base directory.
+     */
+    public final static String DEFAULT_DIRECTORY = "offline-repository";
+
+    private final static String MODULES_INDEX_FILE = "modules.index";
+
+    private final static String ARTIFACTS_DIRECTORY = "artifacts";
+
+    private final static int MAGIC = 0x56344A4F;
+
+    private final static int FORMAT_VERSION = 1;
+
+    private final Path directory;
+
+    private final Map<String, StoredModule> modulesByHash = new LinkedHashMap<>();
+
+    /**
+     * Open a store, reading its modules index if it exists.
+     *
+     * @param directory Store directory
+     * @throws IOException If modules index can not be read
+     */
+    public OfflineArtifactStore(Path directory) throws IOException {
+        this.directory = directory;
+
+        Path indexFile = directory.resolve(MODULES_INDEX_FILE);
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                FileUtils.readVersionedFile(indexFile, MAGIC, FORMAT_VERSION, (in) -> {
+                    int moduleCount = in.readInt();
+                    for (int i = 0; i < moduleCount; i++) {
+                        StoredModule module = readModule(in);
+                        modulesByHash.put(module.jarHash, module);
+                    }
+                });
+            } catch (IOException ex) {
+                throw new IOException("Invalid offline repository index: " + indexFile, ex);
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Return resolution of a module JAR from store.
+     *
+     * @param jarFile Module JAR file
+     * @return Module resolution with stored artifacts files
+     * @throws IOException If module or one of its artifacts is missing from store
+     */
+    public synchronized DependencyResolutionIndex.ModuleResolution get(File jarFile) throws IOException {
+        String jarHash = FileUtils.computeHash(jarFile);
+        StoredModule module = jarHash == null ? null : modulesByHash.get(jarHash);
+        if (module == null) {
+            throw new IOException("Module not found in offline repository " + directory + ": " + jarFile.getPath()
+                    + ", populate it on a connected machine with 'offline-repository' command");
+        }
+
+        Map<String, File> artifactFiles = new LinkedHashMap<>();
+        for (Map.Entry<String, String> artifact : module.artifactHashes.entrySet()) {
+            Path artifactFile = getArtifactPath(artifact.getValue());
+            if (!Files.isRegularFile(artifactFile)) {
+                throw new IOException("Artifact " + artifact.getKey() + " of module " + module.artifactId + " missing from offline repository: " + artifactFile);
+            }
+            artifactFiles.put(artifact.getKey(), artifactFile.toFile());
+        }
+
+        return new DependencyResolutionIndex.ModuleResolution(jarFile, module.moduleKey, module.artifactId, module.dependencies, artifactFiles);
+    }
+
+    /**
+     * Add a resolved module to store, copying its artifacts files not already stored.
+     *
+     * @param resolution Module resolution
+     * @throws IOException In case of file access issues
+     */
+    public synchronized void add(DependencyResolutionIndex.ModuleResolution resolution) throws IOException {
+        Map<String, String> artifactHashes = new LinkedHashMap<>();
+        for (Map.Entry<String, File> artifact : resolution.getArtifacts().entrySet()) {
+            String hash = FileUtils.computeHash(artifact.getValue());
+            if (hash == null) {
+                throw new IOException("Artifact file can not be read: " + artifact.getValue());
+            }
+
+            Path artifactFile = getArtifactPath(hash);
+            if (!Files.isRegularFile(artifactFile)) {
+                Files.createDirectories(artifactFile.getParent());
+                Path tmpFile = artifactFile.resolveSibling(hash + ".tmp");
+                Files.copy(artifact.getValue().toPath(), tmpFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tmpFile, artifactFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                LOGGER.debug("Artifact added to offline repository: " + artifact.getKey());
+            }
+            artifactHashes.put(artifact.getKey(), hash);
+        }
+
+        modulesByHash.put(resolution.getJarHash(), new StoredModule(
+                resolution.getJarHash(),
+                resolution.getModuleKey(),
+                resolution.getArtifactId(),
+                resolution.getDependencies(),
+                artifactHashes
+        ));
+    }
+
+    /**
+     * Write store modules index.
+     *
+     * @throws IOException In case of file access issues
+     */
+    public synchronized void write() throws IOException {
+        Files.createDirectories(directory);
+        FileUtils.writeVersionedFile(directory.resolve(MODULES_INDEX_FILE), MAGIC, FORMAT_VERSION, (out) -> {
+            out.writeInt(modulesByHash.size());
+            for (StoredModule module : modulesByHash.values()) {
+                writeModule(out, module);
+            }
+        });
+    }
+
+    private Path getArtifactPath(String hash) {
+        return directory.resolve(ARTIFACTS_DIRECTORY).resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static void writeModule(DataOutputStream out, StoredModule module) throws IOException {
+        out.writeUTF(module.jarHash);
+        out.writeUTF(module.moduleKey);
+        out.writeUTF(module.artifactId);
+        out.writeInt(module.dependencies.size());
+        for (String dependency : module.dependencies) {
+            out.writeUTF(dependency);
+        }
+        out.writeInt(module.artifactHashes.size());
+        for (Map.Entry<String, String> artifact : module.artifactHashes.entrySet()) {
+            out.writeUTF(artifact.getKey());
+            out.writeUTF(artifact.getValue());
+        }
+    }
+
+    private static StoredModule readModule(DataInputStream in) throws IOException {
+        String jarHash = in.readUTF();
+        String moduleKey = in.readUTF();
+        String artifactId = in.readUTF();
+
+        int dependencyCount = in.readInt();
+        Set<String> dependencies = new LinkedHashSet<>();
+        for (int i = 0; i < dependencyCount; i++) {
+            dependencies.add(in.readUTF());
+        }
+
+        int artifactCount = in.readInt();
+        Map<String, String> artifactHashes = new LinkedHashMap<>();
+        for (int i = 0; i < artifactCount; i++) {
+            artifactHashes.put(in.readUTF(), in.readUTF());
+        }
+
+        return new StoredModule(jarHash, moduleKey, artifactId, dependencies, artifactHashes);
+    }
+
+    private static class StoredModule {
+
+        private final String jarHash;
+
+        private final String moduleKey;
+
+        private final String artifactId;
+
+        private final Set<String> dependencies;
+
+        private final Map<String, String> artifactHashes;
+
+        private StoredModule(String jarHash, String moduleKey, String artifactId, Set<String> dependencies, Map<String, String> artifactHashes) {
+            this.jarHash = jarHash;
+            this.moduleKey = moduleKey;
+            this.artifactId = artifactId;
+            this.dependencies = dependencies;
+            this.artifactHashes = artifactHashes;
+        }
+    }
+}
@@ -52,6 +52,11 @@ public abstract class Vue4JModule implements ID, Vue4JService {
 
     protected ModuleLifeCycleStatus status = ModuleLifeCycleStatus.VISIBLE;
 
+    /**
+     * Exception thrown by the last failed lifecycle step.
+     */
+    private volatile Exception lifeCycleError;
+
     public boolean isConstructed() {
         return status.equals(ModuleLifeCycleStatus.VISIBLE);
     }
@@ -68,6 +73,43 @@ public abstract class Vue4JModule implements ID, Vue4JService {
         return status.equals(ModuleLifeCycleStatus.STARTED);
     }
 
+    /**
+     * Check if a lifecycle step of this module or of one of its dependencies failed.
+     *
+     * @return true if module is in an error status
+     */
+    public boolean hasError() {
+        switch (status) {
+            case CONFIGURATION_ERROR:
+            case ACTIVATION_ERROR:
+            case STARTING_ERROR:
+            case STOPPING_ERROR:
+            case DEPENDENCY_ERROR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Return exception thrown by the last failed lifecycle step of this module.
+     *
+     * @return Lifecycle exception or null if no step failed
+     */
+    public Exception getLifeCycleError() {
+        return lifeCycleError;
+    }
+
+    /**
+     * Mark module as skipped because one of its dependencies failed.
+     *
+     * @param failedDependency Failed module
+     */
+    void dependencyFailed(Vue4JModule failedDependency) {
+        status = ModuleLifeCycleStatus.DEPENDENCY_ERROR;
+        LOGGER.error("Module skipped: " + getID() + " because of failed dependency: " + failedDependency.getID());
+    }
+
     public final void initialize() {
         if (isConstructed()) {
             try {
@@ -75,6 +117,7 @@ public abstract class Vue4JModule implements ID, Vue4JService {
                 status = ModuleLifeCycleStatus.CONFIGURED;
                 LOGGER.debug("Module configured : " + getID());
             } catch (Exception ex) {
+                lifeCycleError = ex;
                 status = ModuleLifeCycleStatus.CONFIGURATION_ERROR;
                 LOGGER.error("Error while configuring module: " + getID(), ex);
             }
@@ -92,6 +135,7 @@ public abstract class Vue4JModule implements ID, Vue4JService {
                 status = ModuleLifeCycleStatus.ACTIVATED;
                 LOGGER.debug("Module activated : " + getID());
             } catch (Exception ex) {
+                lifeCycleError = ex;
                 status = ModuleLifeCycleStatus.ACTIVATION_ERROR;
                 LOGGER.error("Error while activating module: " + getID(), ex);
             }
@@ -109,6 +153,7 @@ public abstract class Vue4JModule implements ID, Vue4JService {
                 status = ModuleLifeCycleStatus.STARTED;
                 LOGGER.debug("Module started : " + getID());
             } catch (Exception ex) {
+                lifeCycleError = ex;
                 status = ModuleLifeCycleStatus.STARTING_ERROR;
                 LOGGER.error("Error while starting module: " + getID(), ex);
             }
@@ -122,6 +167,7 @@ public abstract class Vue4JModule implements ID, Vue4JService {
                 status = ModuleLifeCycleStatus.ACTIVATED;
                 LOGGER.debug("Module stopped : " + getID());
             } catch (Exception ex) {
+                lifeCycleError = ex;
                 status = ModuleLifeCycleStatus.STOPPING_ERROR;
                 LOGGER.error("Error while stopping module: " + getID(), ex);
             }
@@ -135,6 +181,7 @@ public abstract class Vue4JModule implements ID, Vue4JService {
                 status = ModuleLifeCycleStatus.STARTED;
                 LOGGER.debug("Module deactivated : " + getID());
             } catch (Exception ex) {
+                lifeCycleError = ex;
                 status = ModuleLifeCycleStatus.STARTING_ERROR;
                 LOGGER.error("Error while deactivating module: " + getID(), ex);
             }
@@ -19,15 +19,13 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.reflections.Reflections;
-import org.reflections.scanners.MethodAnnotationsScanner;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.ClasspathHelper;
 import org.vue4j.Vue4J;
 import org.vue4j.Vue4JOptions;
 import org.vue4j.config.ConfigProfile;
 import org.vue4j.modules.ModuleManager;
 import org.vue4j.modules.Vue4JModule;
+import org.vue4j.utils.AnnotationIndex;
 
 /**
  * Helper class to generate Open API JSON file.
@@ -112,11 +110,11 @@ public final class OpenAPIGenerator {
      * This API is filtered from global API using Java classes found in source or ti's sub-folder.
      *
      * @param source Base directory to look in
-     * @param reflection Reflections instances for classes
+     * @param availableAPI Classes annotated with OpenAPIDefinition indexed by name
      * @return Swagger API
      * @throws Exception
      */
-    private static synchronized OpenAPI generate(String source, Reflections reflection) throws Exception {
+    private static synchronized OpenAPI generate(String source, Map<String, Class<?>> availableAPI) throws Exception {
         OpenAPI openapi = null;
 
         OpenApiContext ctx = new GenericOpenApiContextBuilder().buildContext(true);
@@ -128,8 +126,6 @@ public final class OpenAPIGenerator {
         if (source != null) {
             Path sourcePath = Paths.get(source);
             if (sourcePath.toFile().exists()) {
-                Map<String, Class<?>> availableAPI = Vue4J.getAnnotatedClassesMap(OpenAPIDefinition.class, reflection);
-
                 try (Stream<Path> walk = Files.walk(sourcePath)) {
 
                     walk.filter(Files::isRegularFile)
@@ -183,11 +179,15 @@ public final class OpenAPIGenerator {
 
         Vue4J instance = getVue4J(Vue4JOptions.getDefaultBaseDirectory());
 
-        Reflections localRef = new Reflections(ConfigurationBuilder.build("")
-                .setScanners(new TypeAnnotationsScanner(), new SubTypesScanner(), new MethodAnnotationsScanner())
-                .setExpandSuperTypes(false)).merge(instance.getReflections());
+        // Read API classes of class path from annotation index, only scanning locations without index
+        AnnotationIndex classPathIndex = AnnotationIndex.read(ClasspathHelper.forPackage("", Vue4J.getClassLoader()));
+        Map<String, Class<?>> availableAPI = classPathIndex.getAnnotatedClasses(OpenAPIDefinition.class, Vue4J.getClassLoader());
+        if (!classPathIndex.getUnindexedURLs().isEmpty()) {
+            availableAPI.putAll(Vue4J.getAnnotatedClassesMap(OpenAPIDefinition.class, Vue4J.buildReflections(classPathIndex.getUnindexedURLs())));
+        }
+        availableAPI.putAll(instance.getAnnotatedClassesMap(OpenAPIDefinition.class));
 
-        OpenAPI openapi = generate(source, localRef);
+        OpenAPI openapi = generate(source, availableAPI);
 
         if (openapi != null) {
             ObjectMapper mapper = new ObjectMapper();
@@ -0,0 +1,23 @@
+package org.vue4j.sparql;
+
+import org.vue4j.config.ConfigDescription;
+
+/**
+ * Embedded SPARQL dataset configuration.
+ *
+ * @author Vincent Migot
+ */
+public interface SPARQLConfig {
+
+    @ConfigDescription(
+            value = "TDB2 dataset directory (relative to base directory), an in-memory dataset is used if empty",
+            defaultString = ""
+    )
+    public String tdb2Directory();
+
+    @ConfigDescription(
+            value = "Maximum number of concurrent read transactions, use available processors count if 0",
+            defaultInt = 0
+    )
+    public int readTransactionPoolSize();
+}
@@ -0,0 +1,96 @@
+package org.vue4j.sparql;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.vue4j.model.TypeService;
+import org.vue4j.modules.Vue4JModule;
+import org.vue4j.modules.Vue4JModuleConfig;
+
+/**
+ * <pre>
+ * Module owning the SPARQL service, created from "sparql" configuration when
+ * module is configured and closed when module is destroyed, and the type
+ * service loading types from it.
+ *
+ * Built types are saved to a snapshot file in base directory when module is
+ * stopped and loaded back when it is started, so that types are not loaded
+ * again from SPARQL at each startup while ontology version is unchanged.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+@Vue4JModuleConfig(id = "sparql", configInterface = SPARQLConfig.class)
+public class SPARQLModule extends Vue4JModule {
+
+    /**
+     * Types snapshot file name in base directory.
+     */
+    public final static String TYPES_SNAPSHOT_FILE = "types.snapshot";
+
+    private SPARQLService sparql;
+
+    private TypeService types;
+
+    @Override
+    public void configure() {
+        SPARQLConfig config = getConfig("sparql", SPARQLConfig.class);
+        sparql = SPARQLService.create(config, getVue4J().getBaseDirectory());
+        types = new TypeService(sparql);
+    }
+
+    @Override
+    public void activate() {
+
+    }
+
+    @Override
+    public void start() {
+        int count = types.loadSnapshot(getTypesSnapshotFile());
+        LOGGER.debug("Types loaded from snapshot: " + count);
+    }
+
+    @Override
+    public void stop() {
+        try {
+            types.saveSnapshot(getTypesSnapshotFile());
+        } catch (IOException ex) {
+            LOGGER.warn("Error while saving types snapshot: " + getTypesSnapshotFile(), ex);
+        }
+    }
+
+    private Path getTypesSnapshotFile() {
+        return getVue4J().getBaseDirectory().resolve(TYPES_SNAPSHOT_FILE);
+    }
+
+    @Override
+    public void deactivate() {
+
+    }
+
+    @Override
+    public void destroy() {
+        types = null;
+        if (sparql != null) {
+            sparql.close();
+            sparql = null;
+        }
+    }
+
+    /**
+     * Return SPARQL service of configured dataset.
+     *
+     * @return SPARQL service or null if module is not configured
+     */
+    public SPARQLService getSPARQLService() {
+        return sparql;
+    }
+
+    /**
+     * Return type service of configured dataset.
+     *
+     * @return Type service or null if module is not configured
+     */
+    public TypeService getTypeService() {
+        return types;
+    }
+}
@@ -0,0 +1,86 @@
+package org.vue4j.sparql;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.jena.arq.querybuilder.SelectBuilder;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.Query;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingBuilder;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+
+/**
+ * <pre>
+ * Select query built, compiled to algebra and optimized once, then executed
+ * many times with different values bound to its parameters.
+ *
+ * Parameters are variables of the query which are bound before evaluation,
+ * like a single row VALUES clause, and are kept in results.
+ * Instances are immutable and may be shared between threads.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class SPARQLPreparedQuery {
+
+    private final Op op;
+
+    private final List<String> resultVars;
+
+    private final List<Var> parameters;
+
+    /**
+     * Constructor.
+     *
+     * @param query Query template, parameters must be left unbound
+     * @param parameters Query variables bound at execution, in the order of execution values
+     */
+    public SPARQLPreparedQuery(SelectBuilder query, Var... parameters) {
+        Query compiledQuery = query.build();
+        this.op = Algebra.optimize(Algebra.compile(compiledQuery));
+        this.resultVars = Collections.unmodifiableList(compiledQuery.getResultVars());
+        this.parameters = Collections.unmodifiableList(Arrays.asList(parameters));
+    }
+
+    /**
+     * Return optimized query algebra.
+     *
+     * @return Query algebra
+     */
+    public Op getOp() {
+        return op;
+    }
+
+    public List<String> getResultVars() {
+        return resultVars;
+    }
+
+    public List<Var> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Bind values to parameters.
+     *
+     * @param values Parameter values in parameters order, null leaves a parameter unbound
+     * @return Parameters binding
+     */
+    public Binding bind(Node... values) {
+        if (values.length != parameters.size()) {
+            throw new IllegalArgumentException("Prepared query expects " + parameters.size() + " parameter(s) " + parameters + " but got " + values.length);
+        }
+
+        BindingBuilder binding = BindingFactory.builder();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                binding.add(parameters.get(i), values[i]);
+            }
+        }
+
+        return binding.build();
+    }
+}
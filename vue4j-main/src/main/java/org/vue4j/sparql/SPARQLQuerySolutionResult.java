@@ -0,0 +1,83 @@
+package org.vue4j.sparql;
+
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.rdf.model.RDFNode;
+
+/**
+ * SPARQL result backed by a Jena query solution.
+ *
+ * @author Vincent Migot
+ */
+public class SPARQLQuerySolutionResult implements SPARQLResult {
+
+    private final QuerySolution solution;
+
+    public SPARQLQuerySolutionResult(QuerySolution solution) {
+        this.solution = solution;
+    }
+
+    @Override
+    public String getStringValue(String key, String defaultValue) {
+        RDFNode node = solution.get(key);
+        if (node == null) {
+            return defaultValue;
+        }
+
+        return nodeToString(node);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super String> action) {
+        Iterator<String> varNames = solution.varNames();
+        while (varNames.hasNext()) {
+            String varName = varNames.next();
+            RDFNode node = solution.get(varName);
+            if (node != null) {
+                action.accept(varName, nodeToString(node));
+            }
+        }
+    }
+
+    @Override
+    public boolean getBoolValue(String varName, boolean defaultValue) {
+        RDFNode node = solution.get(varName);
+        if (node == null || !node.isLiteral()) {
+            return defaultValue;
+        }
+
+        String value = node.asLiteral().getLexicalForm().trim();
+        if (value.equalsIgnoreCase("true") || value.equals("1")) {
+            return true;
+        } else if (value.equalsIgnoreCase("false") || value.equals("0")) {
+            return false;
+        }
+
+        return defaultValue;
+    }
+
+    @Override
+    public int getIntValue(String varName, int defaultValue) {
+        RDFNode node = solution.get(varName);
+        if (node == null || !node.isLiteral()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(node.asLiteral().getLexicalForm().trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    private static String nodeToString(RDFNode node) {
+        if (node.isLiteral()) {
+            return node.asLiteral().getLexicalForm();
+        } else if (node.isURIResource()) {
+            return node.asResource().getURI();
+        }
+
+        return node.toString();
+    }
+}
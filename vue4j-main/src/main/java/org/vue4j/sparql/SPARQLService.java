@@ -2,22 +2,237 @@ package org.vue4j.sparql;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.jena.arq.querybuilder.SelectBuilder;
+import org.apache.jena.arq.querybuilder.UpdateBuilder;
+import org.apache.jena.graph.Node;
+import org.apache.jena.query.ARQ;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.DatasetFactory;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetFactory;
+import org.apache.jena.sparql.core.DatasetGraph;
+import org.apache.jena.sparql.engine.Plan;
+import org.apache.jena.sparql.engine.QueryEngineRegistry;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.util.Context;
+import org.apache.jena.system.Txn;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.apache.jena.update.UpdateExecutionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class SPARQLService {
-    
+/**
+ * <pre>
+ * SPARQL service executing queries against an embedded Jena dataset.
+ *
+ * Dataset may be in-memory or a TDB2 directory, the number of concurrent read
+ * transactions is bounded by a pool of permits.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class SPARQLService implements AutoCloseable {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(SPARQLService.class);
+
+    private final Dataset dataset;
+
+    private final Semaphore readPermits;
+
+    /**
+     * Constructor, use {@link SPARQLModule#getSPARQLService()} for the service of configured dataset.
+     *
+     * @param dataset Transactional dataset to query
+     * @param readTransactionPoolSize Maximum number of concurrent read transactions, available processors count if 0
+     */
+    public SPARQLService(Dataset dataset, int readTransactionPoolSize) {
+        if (readTransactionPoolSize < 0) {
+            throw new IllegalArgumentException("Read transaction pool size must not be negative: " + readTransactionPoolSize);
+        }
+        if (readTransactionPoolSize == 0) {
+            readTransactionPoolSize = Runtime.getRuntime().availableProcessors();
+        }
+        this.dataset = dataset;
+        this.readPermits = new Semaphore(readTransactionPoolSize, true);
+    }
+
+    /**
+     * Create a service backed by an empty in-memory dataset.
+     *
+     * @return SPARQL service
+     */
+    public static SPARQLService createInMemory() {
+        return new SPARQLService(DatasetFactory.createTxnMem(), 0);
+    }
+
+    /**
+     * Create a service backed by a TDB2 dataset, files are memory mapped by TDB2.
+     *
+     * @param directory TDB2 dataset directory, created if it does not exist
+     * @return SPARQL service
+     */
+    public static SPARQLService createTDB2(Path directory) {
+        return createTDB2(directory, 0);
+    }
+
+    public static SPARQLService createTDB2(Path directory, int readTransactionPoolSize) {
+        LOGGER.debug("Open TDB2 dataset: " + directory.toAbsolutePath());
+        return new SPARQLService(TDB2Factory.connectDataset(directory.toString()), readTransactionPoolSize);
+    }
+
+    /**
+     * Create a service from configuration.
+     *
+     * @param config SPARQL configuration
+     * @param baseDirectory Directory against which TDB2 directory is resolved
+     * @return SPARQL service
+     */
+    public static SPARQLService create(SPARQLConfig config, Path baseDirectory) {
+        String tdb2Directory = config.tdb2Directory();
+        if (tdb2Directory == null || tdb2Directory.isBlank()) {
+            return new SPARQLService(DatasetFactory.createTxnMem(), config.readTransactionPoolSize());
+        }
+
+        return createTDB2(baseDirectory.resolve(tdb2Directory.trim()), config.readTransactionPoolSize());
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Execute a select query and return all results.
+     *
+     * Results are fully loaded in memory, prefer {@link #executeSelectQueryStream(SelectBuilder)} or
+     * {@link #executeSelectQuery(SelectBuilder, Consumer)} for large result sets.
+     *
+     * @param query Query to execute
+     * @return List of results
+     */
     public List<SPARQLResult> executeSelectQuery(SelectBuilder query) {
-        return new ArrayList<>();
+        try (Stream<SPARQLResult> results = executeSelectQueryStream(query)) {
+            return results.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Execute a select query and call action for each result row as soon as it's read.
+     *
+     * @param query Query to execute
+     * @param action Action to execute for each result
+     */
+    public void executeSelectQuery(SelectBuilder query, Consumer<SPARQLResult> action) {
+        try (Stream<SPARQLResult> results = executeSelectQueryStream(query)) {
+            results.forEach(action);
+        }
+    }
+
+    /**
+     * Execute a select query and return results as a lazy stream, rows are read from the underlying query execution
+     * only when consumed.
+     *
+     * Returned stream hold a read transaction and must be closed, ideally using a try-with-resources statement. Jena
+     * transactions are bound to threads so the stream must be consumed sequentially and closed by the calling thread.
+     *
+     * @param query Query to execute
+     * @return Stream of results
+     */
+    public Stream<SPARQLResult> executeSelectQueryStream(SelectBuilder query) {
+        Runnable endTransaction = beginRead();
+        QueryExecution execution = null;
+        try {
+            execution = QueryExecutionFactory.create(query.build(), dataset);
+            QueryExecution queryExecution = execution;
+            return toStream(execution.execSelect(), queryExecution::close, endTransaction);
+        } catch (RuntimeException ex) {
+            close(execution == null ? null : execution::close, endTransaction);
+            throw ex;
+        }
+    }
+
+    /**
+     * Execute a prepared select query with the given parameter values and return all results.
+     *
+     * @param query Prepared query to execute
+     * @param parameters Parameter values in prepared query parameters order
+     * @return List of results
+     */
+    public List<SPARQLResult> executeSelectQuery(SPARQLPreparedQuery query, Node... parameters) {
+        try (Stream<SPARQLResult> results = executeSelectQueryStream(query, parameters)) {
+            return results.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Execute a prepared select query with the given parameter values and call action for each result row as soon as
+     * it's read.
+     *
+     * @param query Prepared query to execute
+     * @param action Action to execute for each result
+     * @param parameters Parameter values in prepared query parameters order
+     */
+    public void executeSelectQuery(SPARQLPreparedQuery query, Consumer<SPARQLResult> action, Node... parameters) {
+        try (Stream<SPARQLResult> results = executeSelectQueryStream(query, parameters)) {
+            results.forEach(action);
+        }
     }
-    
+
+    /**
+     * Execute a prepared select query with the given parameter values and return results as a lazy stream.
+     *
+     * Prepared query algebra is optimized once, each execution only substitutes parameter values in it before
+     * evaluation, without building, compiling nor optimizing the query again. Returned stream hold a read transaction and must be consumed and closed by the calling thread.
+     *
+     * @param query Prepared query to execute
+     * @param parameters Parameter values in prepared query parameters order
+     * @return Stream of results
+     */
+    public Stream<SPARQLResult> executeSelectQueryStream(SPARQLPreparedQuery query, Node... parameters) {
+        Binding binding = query.bind(parameters);
+
+        Runnable endTransaction = beginRead();
+        Plan plan = null;
+        try {
+            DatasetGraph datasetGraph = dataset.asDatasetGraph();
+            Context context = Context.setupContextForDataset(ARQ.getContext(), datasetGraph);
+            // Prepared query algebra is already optimized
+            context.set(ARQ.optimization, false);
+            plan = QueryEngineRegistry.findFactory(query.getOp(), datasetGraph, context).create(query.getOp(), datasetGraph, binding, context);
+            Plan queryPlan = plan;
+            return toStream(ResultSetFactory.create(plan.iterator(), query.getResultVars()), queryPlan::close, endTransaction);
+        } catch (RuntimeException ex) {
+            close(plan == null ? null : plan::close, endTransaction);
+            throw ex;
+        }
+    }
+
+    /**
+     * Execute an update query in a write transaction.
+     *
+     * @param update Update to execute
+     */
+    public void executeUpdateQuery(UpdateBuilder update) {
+        Txn.executeWrite(dataset, () -> {
+            UpdateExecutionFactory.create(update.buildRequest(), dataset).execute();
+        });
+    }
+
     public URI formatURI(URI uri) {
         return uri;
     }
-    
+
     public URI formatURI(String uri) {
         if (uri == null || uri.isBlank()) {
             return null;
@@ -28,4 +243,56 @@ public class SPARQLService {
             throw new RuntimeException("Invalid URI: " + uri.trim(), ex);
         }
     }
+
+    @Override
+    public void close() {
+        dataset.close();
+    }
+
+    private static Stream<SPARQLResult> toStream(ResultSet resultSet, Runnable closeExecution, Runnable endTransaction) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultSet, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .<SPARQLResult>map(SPARQLQuerySolutionResult::new)
+                .onClose(() -> close(closeExecution, endTransaction));
+    }
+
+    private static void close(Runnable closeExecution, Runnable endTransaction) {
+        try {
+            if (closeExecution != null) {
+                closeExecution.run();
+            }
+        } finally {
+            endTransaction.run();
+        }
+    }
+
+    /**
+     * Begin a read transaction unless current thread is already in one, return the action ending it which must be run
+     * by the same thread.
+     */
+    private Runnable beginRead() {
+        if (dataset.isInTransaction()) {
+            return () -> {
+            };
+        }
+
+        readPermits.acquireUninterruptibly();
+        try {
+            dataset.begin(ReadWrite.READ);
+        } catch (RuntimeException ex) {
+            readPermits.release();
+            throw ex;
+        }
+
+        Thread owner = Thread.currentThread();
+        return () -> {
+            if (Thread.currentThread() != owner) {
+                throw new IllegalStateException("Read transaction must be ended by thread which began it: " + owner.getName());
+            }
+            try {
+                dataset.end();
+            } finally {
+                readPermits.release();
+            }
+        };
+    }
 }
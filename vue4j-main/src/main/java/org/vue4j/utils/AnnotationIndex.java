@@ -0,0 +1,175 @@
+package org.vue4j.utils;
+
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vue4j.modules.Vue4JModuleConfig;
+import org.vue4j.services.Vue4JServiceDefinition;
+import picocli.CommandLine.Command;
+
+/**
+ * <pre>
+ * Index of classes annotated with Vue4J discovery annotations.
+ *
+ * Index files are written at compile time in each module by
+ * AnnotationIndexProcessor, one "annotation class name [tab] class name"
+ * entry by line. Locations without index file, built without the processor,
+ * must still be scanned at runtime.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class AnnotationIndex {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(AnnotationIndex.class);
+
+    /**
+     * Index file path in JAR files and classes directories.
+     */
+    public final static String INDEX_FILE = "META-INF/vue4j/annotations.index";
+
+    /**
+     * Separator between annotation and class names in index file.
+     */
+    public final static String SEPARATOR = "\t";
+
+    /**
+     * Binary names of indexed annotations.
+     */
+    public final static Set<String> INDEXED_ANNOTATIONS = Set.of(
+            OpenAPIDefinition.class.getName(),
+            Vue4JModuleConfig.class.getName(),
+            Vue4JServiceDefinition.class.getName(),
+            Command.class.getName()
+    );
+
+    private final Map<String, Set<String>> classNamesByAnnotation = new HashMap<>();
+
+    private final Set<URL> unindexedURLs = new LinkedHashSet<>();
+
+    private AnnotationIndex() {
+
+    }
+
+    /**
+     * Read index files of given locations.
+     *
+     * @param locations JAR files or classes directories URLs
+     * @return Index of all locations
+     */
+    public static AnnotationIndex read(Collection<URL> locations) {
+        AnnotationIndex index = new AnnotationIndex();
+        for (URL location : locations) {
+            try {
+                if (!index.readLocation(ClassUtils.getJarFileFromURL(location))) {
+                    index.unindexedURLs.add(location);
+                }
+            } catch (IOException | IllegalArgumentException ex) {
+                LOGGER.warn("Error while reading annotation index of: " + location, ex);
+                index.unindexedURLs.add(location);
+            }
+        }
+
+        if (!index.unindexedURLs.isEmpty()) {
+            LOGGER.debug("Locations without annotation index: " + index.unindexedURLs);
+        }
+
+        return index;
+    }
+
+    /**
+     * Check if an annotation is indexed.
+     *
+     * @param annotation Annotation class
+     * @return true if annotated classes can be read from index
+     */
+    public boolean isIndexed(Class<? extends Annotation> annotation) {
+        return INDEXED_ANNOTATIONS.contains(annotation.getName());
+    }
+
+    /**
+     * Return locations without index file which must be scanned to find annotated classes.
+     *
+     * @return JAR files or classes directories URLs
+     */
+    public Set<URL> getUnindexedURLs() {
+        return unindexedURLs;
+    }
+
+    /**
+     * Load indexed classes annotated with an annotation.
+     *
+     * @param annotation Annotation class
+     * @param classLoader Class loader of indexed classes
+     * @return Map of annotated classes indexed by name
+     */
+    public Map<String, Class<?>> getAnnotatedClasses(Class<? extends Annotation> annotation, ClassLoader classLoader) {
+        Map<String, Class<?>> classMap = new HashMap<>();
+        for (String className : classNamesByAnnotation.getOrDefault(annotation.getName(), Set.of())) {
+            try {
+                Class<?> annotatedClass = Class.forName(className, false, classLoader);
+                classMap.put(annotatedClass.getCanonicalName(), annotatedClass);
+            } catch (ClassNotFoundException | LinkageError ex) {
+                LOGGER.warn("Ignoring indexed class which can not be loaded: " + className, ex);
+            }
+        }
+        return classMap;
+    }
+
+    private boolean readLocation(File location) throws IOException {
+        if (location.isDirectory()) {
+            Path indexFile = location.toPath().resolve(INDEX_FILE);
+            if (!Files.isRegularFile(indexFile)) {
+                return false;
+            }
+            try (InputStream in = Files.newInputStream(indexFile)) {
+                readEntries(in);
+            }
+            return true;
+        }
+
+        if (location.isFile()) {
+            try (ZipFile jar = new ZipFile(location)) {
+                ZipEntry entry = jar.getEntry(INDEX_FILE);
+                if (entry == null) {
+                    return false;
+                }
+                try (InputStream in = jar.getInputStream(entry)) {
+                    readEntries(in);
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    private void readEntries(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int separatorIndex = line.indexOf(SEPARATOR);
+            if (separatorIndex > 0) {
+                classNamesByAnnotation.computeIfAbsent(line.substring(0, separatorIndex), (key) -> new LinkedHashSet<>())
+                        .add(line.substring(separatorIndex + 1));
+            }
+        }
+    }
+}
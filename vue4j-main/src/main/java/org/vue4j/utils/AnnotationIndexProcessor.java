@@ -0,0 +1,163 @@
+package org.vue4j.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * <pre>
+ * Annotation processor writing index of classes annotated with Vue4J discovery
+ * annotations, read at runtime by AnnotationIndex instead of scanning classes.
+ *
+ * Processor is registered as a service in vue4j-main so it runs on every
+ * module compilation. Sub types of annotated classes or interfaces are
+ * indexed with the same annotation, as they were returned by class scanning. Entries of a previous incremental compilation are kept
+ * for classes which were not compiled again and still exist.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+@SupportedAnnotationTypes("*")
+public class AnnotationIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> entries = new TreeSet<>();
+
+    private final Set<String> compiledClasses = new HashSet<>();
+
+    /**
+     * Indexed annotations of already visited types by qualified name.
+     */
+    private final Map<String, Set<String>> annotationsByType = new HashMap<>();
+
+    private Set<String> previousEntries = null;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Elements elements = processingEnv.getElementUtils();
+        if (previousEntries == null) {
+            previousEntries = readPreviousEntries();
+        }
+
+        for (Element rootElement : roundEnv.getRootElements()) {
+            if (rootElement instanceof TypeElement) {
+                addCompiledClasses((TypeElement) rootElement, elements);
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex(elements);
+        }
+
+        return false;
+    }
+
+    /**
+     * Register a compiled class and its nested classes with their indexed annotations, including those of their super
+     * types.
+     */
+    private void addCompiledClasses(TypeElement type, Elements elements) {
+        String className = elements.getBinaryName(type).toString();
+        compiledClasses.add(className);
+        for (String annotationName : getIndexedAnnotations(type, elements)) {
+            entries.add(annotationName + AnnotationIndex.SEPARATOR + className);
+        }
+        for (Element enclosedElement : type.getEnclosedElements()) {
+            if (enclosedElement instanceof TypeElement) {
+                addCompiledClasses((TypeElement) enclosedElement, elements);
+            }
+        }
+    }
+
+    /**
+     * Return indexed annotations present on a type or on one of its super types.
+     */
+    private Set<String> getIndexedAnnotations(TypeElement type, Elements elements) {
+        String typeName = type.getQualifiedName().toString();
+        Set<String> typeAnnotations = annotationsByType.get(typeName);
+        if (typeAnnotations != null) {
+            return typeAnnotations;
+        }
+
+        typeAnnotations = new HashSet<>();
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            String annotationName = elements.getBinaryName((TypeElement) annotation.getAnnotationType().asElement()).toString();
+            if (AnnotationIndex.INDEXED_ANNOTATIONS.contains(annotationName)) {
+                typeAnnotations.add(annotationName);
+            }
+        }
+        for (TypeMirror superType : processingEnv.getTypeUtils().directSupertypes(type.asType())) {
+            Element superElement = processingEnv.getTypeUtils().asElement(superType);
+            if (superElement instanceof TypeElement) {
+                typeAnnotations.addAll(getIndexedAnnotations((TypeElement) superElement, elements));
+            }
+        }
+
+        annotationsByType.put(typeName, typeAnnotations);
+        return typeAnnotations;
+    }
+
+    private Set<String> readPreviousEntries() {
+        Set<String> previous = new TreeSet<>();
+        try {
+            FileObject indexFile = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", AnnotationIndex.INDEX_FILE);
+            try (InputStream in = indexFile.openInputStream()) {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.contains(AnnotationIndex.SEPARATOR)) {
+                        previous.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            // No previous index
+        }
+        return previous;
+    }
+
+    private void writeIndex(Elements elements) {
+        for (String entry : previousEntries) {
+            String className = entry.substring(entry.indexOf(AnnotationIndex.SEPARATOR) + 1);
+            if (!compiledClasses.contains(className) && elements.getTypeElement(className.replace('$', '.')) != null) {
+                entries.add(entry);
+            }
+        }
+
+        try {
+            FileObject indexFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", AnnotationIndex.INDEX_FILE);
+            try (Writer writer = indexFile.openWriter()) {
+                for (String entry : entries) {
+                    writer.write(entry);
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error while writing annotation index: " + ex.getMessage());
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
@@ -410,12 +411,25 @@ public final class ClassUtils {
     }
 
     /**
-     * Convert a JAR url to a file.
+     * Convert a JAR url to a file, "jar:file:...!/" URLs are converted to their JAR file.
      *
      * @param jarURL Jar URL
      * @return Jar file
      */
     public static File getJarFileFromURL(URL jarURL) {
+        if ("jar".equals(jarURL.getProtocol())) {
+            String fileSpec = jarURL.getPath();
+            int separatorIndex = fileSpec.indexOf("!/");
+            if (separatorIndex >= 0) {
+                fileSpec = fileSpec.substring(0, separatorIndex);
+            }
+            try {
+                jarURL = new URL(fileSpec);
+            } catch (MalformedURLException ex) {
+                return new File(fileSpec);
+            }
+        }
+
         File jarFile;
         try {
             jarFile = new File(jarURL.toURI());
@@ -0,0 +1,131 @@
+package org.vue4j.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <pre>
+ * Utility methods to hash files and to read or write versioned binary files.
+ *
+ * Versioned binary files start with a magic number identifying their content
+ * followed by a format version, they are written atomically through a
+ * temporary file.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public final class FileUtils {
+
+    /**
+     * Private constructor to avoid FileUtils missuse.
+     */
+    private FileUtils() {
+
+    }
+
+    /**
+     * Class Logger.
+     */
+    private final static Logger LOGGER = LoggerFactory.getLogger(FileUtils.class);
+
+    private final static String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Reader of a versioned binary file content, after its header.
+     */
+    @FunctionalInterface
+    public interface ContentReader {
+
+        public void read(DataInputStream in) throws IOException;
+    }
+
+    /**
+     * Writer of a versioned binary file content, after its header.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        public void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Compute hash of a file content.
+     *
+     * @param file File to hash
+     * @return Hexadecimal hash, null if file can not be read
+     */
+    public static String computeHash(File file) {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            byte[] buffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (IOException | NoSuchAlgorithmException ex) {
+            LOGGER.warn("Error while computing file hash: " + file.getPath(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Read a versioned binary file.
+     *
+     * @param file File to read
+     * @param magic Expected magic number
+     * @param formatVersion Expected format version
+     * @param reader Content reader
+     * @throws IOException In case of file access issues, unknown format or version, or truncated content
+     */
+    public static void readVersionedFile(Path file, int magic, int formatVersion, ContentReader reader) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            if (in.readInt() != magic || in.readInt() != formatVersion) {
+                throw new IOException("Unknown file format or version: " + file);
+            }
+            reader.read(in);
+        } catch (EOFException | IllegalArgumentException ex) {
+            throw new IOException("Invalid file content: " + file, ex);
+        }
+    }
+
+    /**
+     * Write a versioned binary file, replacing any existing one.
+     *
+     * @param file File to write
+     * @param magic Magic number
+     * @param formatVersion Format version
+     * @param writer Content writer
+     * @throws IOException In case of file access issues
+     */
+    public static void writeVersionedFile(Path file, int magic, int formatVersion, ContentWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(magic);
+            out.writeInt(formatVersion);
+            writer.write(out);
+        }
+
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmpFile, bytes.toByteArray());
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,298 @@
+package org.vue4j.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.reflections.Reflections;
+import org.reflections.Store;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ConfigurationBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vue4j.Vue4J;
+
+/**
+ * <pre>
+ * Persistent cache of Reflections scans by JAR file.
+ *
+ * Each JAR file is scanned separately and its scan result is stored with the
+ * JAR modification time, size and content hash. On next scans, unchanged JAR
+ * files are read from cache and only new or changed ones are scanned again, in
+ * parallel. Classes directories are always scanned. The returned Reflections
+ * instance is assembled from all scan results.
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class ReflectionsCache {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(ReflectionsCache.class);
+
+    private final static int MAGIC = 0x56344A52;
+
+    private final static int FORMAT_VERSION = 1;
+
+    private final Map<File, ScanResult> scansByJar = new LinkedHashMap<>();
+
+    private boolean modified = false;
+
+    /**
+     * Read a cache file.
+     *
+     * @param file Cache file
+     * @return Cache read, empty if file is missing, invalid or of another format version
+     */
+    public static ReflectionsCache read(Path file) {
+        ReflectionsCache cache = new ReflectionsCache();
+        if (!Files.isRegularFile(file)) {
+            return cache;
+        }
+
+        try {
+            FileUtils.readVersionedFile(file, MAGIC, FORMAT_VERSION, (in) -> {
+                int scanCount = in.readInt();
+                for (int i = 0; i < scanCount; i++) {
+                    ScanResult scan = readScan(in);
+                    cache.scansByJar.put(scan.jarFile, scan);
+                }
+            });
+        } catch (IOException ex) {
+            LOGGER.warn("Ignoring invalid reflections cache: " + file, ex);
+            return new ReflectionsCache();
+        }
+
+        return cache;
+    }
+
+    /**
+     * Write cache to a file, replacing any existing one. Scans of JAR files which does not exist anymore are removed.
+     *
+     * @param file Cache file
+     * @throws IOException In case of file access issues
+     */
+    public synchronized void write(Path file) throws IOException {
+        scansByJar.keySet().removeIf((jarFile) -> !jarFile.isFile());
+
+        FileUtils.writeVersionedFile(file, MAGIC, FORMAT_VERSION, (out) -> {
+            out.writeInt(scansByJar.size());
+            for (ScanResult scan : scansByJar.values()) {
+                writeScan(out, scan);
+            }
+        });
+        modified = false;
+    }
+
+    /**
+     * Check if cache changed since it was read or written.
+     *
+     * @return true if cache must be written
+     */
+    public synchronized boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Return Reflections instance for given locations, scanning only those which are not cached. Classes are loaded
+     * with application class loader of the calling thread.
+     *
+     * @param urls JAR files or classes directories URLs
+     * @param executor Executor of scans
+     * @return Reflections instance with type annotations, sub types and method annotations scans
+     */
+    public Reflections getReflections(Collection<URL> urls, Executor executor) {
+        // Scans run on executor threads which may have another context class loader
+        ClassLoader classLoader = Vue4J.getClassLoader();
+        List<CompletableFuture<ScanResult>> scans = new ArrayList<>(urls.size());
+        for (URL url : urls) {
+            File location = ClassUtils.getJarFileFromURL(url).getAbsoluteFile();
+            ScanResult cachedScan = location.isFile() ? getValidScan(location) : null;
+            if (cachedScan != null) {
+                scans.add(CompletableFuture.completedFuture(cachedScan));
+            } else {
+                scans.add(CompletableFuture.supplyAsync(() -> scan(url, location, classLoader), executor));
+            }
+        }
+
+        CompletableFuture.allOf(scans.toArray(new CompletableFuture[scans.size()])).join();
+
+        List<Map<String, Map<String, Set<String>>>> stores = new ArrayList<>(scans.size());
+        for (CompletableFuture<ScanResult> future : scans) {
+            ScanResult scan = future.join();
+            stores.add(scan.store);
+            if (scan.jarFile != null) {
+                putScan(scan);
+            }
+        }
+
+        return new CachedReflections(stores, classLoader);
+    }
+
+    private synchronized ScanResult getValidScan(File jarFile) {
+        ScanResult scan = scansByJar.get(jarFile);
+        if (scan == null) {
+            return null;
+        }
+
+        if (jarFile.lastModified() != scan.lastModified || jarFile.length() != scan.size) {
+            String hash = FileUtils.computeHash(jarFile);
+            if (hash == null || !hash.equals(scan.jarHash)) {
+                LOGGER.debug("JAR changed since last reflections scan: " + jarFile.getPath());
+                return null;
+            }
+            // Same content with another timestamp, keep scan with current file attributes
+            scan = new ScanResult(jarFile, jarFile.lastModified(), jarFile.length(), hash, scan.store);
+            scansByJar.put(jarFile, scan);
+            modified = true;
+        }
+
+        return scan;
+    }
+
+    private synchronized void putScan(ScanResult scan) {
+        if (scansByJar.get(scan.jarFile) != scan) {
+            scansByJar.put(scan.jarFile, scan);
+            modified = true;
+        }
+    }
+
+    private static ScanResult scan(URL url, File location, ClassLoader classLoader) {
+        LOGGER.debug("Scan classes of: " + url);
+        Reflections reflections = new Reflections(new ConfigurationBuilder()
+                .addClassLoaders(classLoader)
+                .setUrls(url)
+                .setScanners(new TypeAnnotationsScanner(), new SubTypesScanner(), new MethodAnnotationsScanner())
+                .setExpandSuperTypes(false));
+
+        Map<String, Map<String, Set<String>>> values = new HashMap<>();
+        Store store = reflections.getStore();
+        for (String index : store.keySet()) {
+            Map<String, Set<String>> indexValues = new HashMap<>();
+            for (String key : store.keys(index)) {
+                indexValues.put(key, new LinkedHashSet<>(store.get(index, key)));
+            }
+            values.put(index, indexValues);
+        }
+
+        if (!location.isFile()) {
+            return new ScanResult(null, 0, 0, null, values);
+        }
+
+        long lastModified = location.lastModified();
+        long size = location.length();
+        String hash = FileUtils.computeHash(location);
+        if (hash == null) {
+            return new ScanResult(null, 0, 0, null, values);
+        }
+        return new ScanResult(location, lastModified, size, hash, values);
+    }
+
+    private static void writeScan(DataOutputStream out, ScanResult scan) throws IOException {
+        out.writeUTF(scan.jarFile.getPath());
+        out.writeLong(scan.lastModified);
+        out.writeLong(scan.size);
+        out.writeUTF(scan.jarHash);
+        out.writeInt(scan.store.size());
+        for (Map.Entry<String, Map<String, Set<String>>> index : scan.store.entrySet()) {
+            out.writeUTF(index.getKey());
+            out.writeInt(index.getValue().size());
+            for (Map.Entry<String, Set<String>> key : index.getValue().entrySet()) {
+                out.writeUTF(key.getKey());
+                out.writeInt(key.getValue().size());
+                for (String value : key.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+        }
+    }
+
+    private static ScanResult readScan(DataInputStream in) throws IOException {
+        File jarFile = new File(in.readUTF());
+        long lastModified = in.readLong();
+        long size = in.readLong();
+        String jarHash = in.readUTF();
+
+        int indexCount = in.readInt();
+        Map<String, Map<String, Set<String>>> store = new HashMap<>();
+        for (int i = 0; i < indexCount; i++) {
+            String index = in.readUTF();
+            int keyCount = in.readInt();
+            Map<String, Set<String>> indexValues = new HashMap<>();
+            for (int j = 0; j < keyCount; j++) {
+                String key = in.readUTF();
+                int valueCount = in.readInt();
+                Set<String> values = new LinkedHashSet<>();
+                for (int k = 0; k < valueCount; k++) {
+                    values.add(in.readUTF());
+                }
+                indexValues.put(key, values);
+            }
+            store.put(index, indexValues);
+        }
+
+        return new ScanResult(jarFile, lastModified, size, jarHash, store);
+    }
+
+    /**
+     * Scan result of a location, JAR file is null for classes directories which are not cached.
+     */
+    private static class ScanResult {
+
+        private final File jarFile;
+
+        private final long lastModified;
+
+        private final long size;
+
+        private final String jarHash;
+
+        /**
+         * Scanned values by scanner index and key.
+         */
+        private final Map<String, Map<String, Set<String>>> store;
+
+        private ScanResult(File jarFile, long lastModified, long size, String jarHash, Map<String, Map<String, Set<String>>> store) {
+            this.jarFile = jarFile;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.jarHash = jarHash;
+            this.store = store;
+        }
+    }
+
+    /**
+     * Reflections instance built from scan results without scanning, no scanner is configured so that nothing is
+     * scanned on construction.
+     */
+    private static class CachedReflections extends Reflections {
+
+        private CachedReflections(Collection<Map<String, Map<String, Set<String>>>> stores, ClassLoader classLoader) {
+            super(new ConfigurationBuilder()
+                    .addClassLoaders(classLoader)
+                    .setScanners()
+                    .setExpandSuperTypes(false));
+            stores.forEach((scanStore) -> {
+                scanStore.forEach((index, indexValues) -> {
+                    indexValues.forEach((key, values) -> {
+                        values.forEach((value) -> store.put(index, key, value));
+                    });
+                });
+            });
+        }
+    }
+}
@@ -1,20 +1,38 @@
 package org.vue4j.utils.bo;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 public interface BuildOrder<T> {
 
     public void execute(Consumer<T> action);
 
+    /**
+     * Execute action on items, parallel parts running on the given executor.
+     *
+     * @param action Action to execute
+     * @param executor Executor of parallel parts
+     */
+    public default void execute(Consumer<T> action, Executor executor) {
+        execute(action);
+    }
+
     public default void executeReverse(Consumer<T> action) {
         execute(action);
     }
+
+    public default void executeReverse(Consumer<T> action, Executor executor) {
+        executeReverse(action);
+    }
     
     public default void executeSync(Consumer<T> action) {
         execute(action);
@@ -23,107 +41,69 @@ public interface BuildOrder<T> {
     public default void executeReverseSync(Consumer<T> action) {
         execute(action);
     }
-    public boolean isEmpty();
 
-    public static <T> BuildOrder<T> getBuildOrderByDependencies(Set<T> items, Function<T, String> idGetter, Function<T, Set<T>> dependenciesGetter) throws BuildOrderUnsolvableException {
-        BuildOrderSync<T> dependencyBuildOrder = new BuildOrderSync<T>();
-        BuildOrderAsync<T> rootDependencyBuildOrder = new BuildOrderAsync<T>();
+    /**
+     * Execute action on items without stopping on failures, an item fails if its action returns false or throws an
+     * exception. Build orders knowing items dependencies skip items waiting for a failed item.
+     *
+     * @param action Action to execute, returning false on failure
+     * @param executor Executor of parallel parts
+     * @return Failed and skipped items
+     */
+    public default BuildOrderResult<T> executeChecked(Predicate<T> action, Executor executor) {
+        BuildOrderResult<T> result = new BuildOrderResult<>();
+        execute((item) -> result.run(item, action), executor);
+        result.end();
+        return result;
+    }
 
-        int remainingItemCount = items.size();
-        Set<T> remainingItems = new HashSet<>(remainingItemCount);
+    public default BuildOrderResult<T> executeReverseChecked(Predicate<T> action, Executor executor) {
+        BuildOrderResult<T> result = new BuildOrderResult<>();
+        executeReverse((item) -> result.run(item, action), executor);
+        result.end();
+        return result;
+    }
 
-        Set<String> registredItemsIDs = new HashSet<>();
+    public boolean isEmpty();
 
-        Set<String> resolvedItems = new HashSet<>();
-        Map<String, Set<String>> itemDependencies = new HashMap<>();
+    /**
+     * Build a dependency graph of items, dependencies not part of given items are added to the graph.
+     *
+     * @param <T> Item type
+     * @param items Items to order
+     * @param idGetter Unique identifier of an item
+     * @param dependenciesGetter Direct dependencies of an item, called once per item
+     * @return Build order executing each item as soon as its dependencies are done
+     * @throws BuildOrderUnsolvableException if dependencies contain a cycle, with identifiers of its items
+     */
+    public static <T> BuildOrderGraph<T> getBuildOrderByDependencies(Set<T> items, Function<T, String> idGetter, Function<T, Set<T>> dependenciesGetter) throws BuildOrderUnsolvableException {
+        Map<String, T> itemsByID = new LinkedHashMap<>();
+        Deque<T> itemsToResolve = new ArrayDeque<>();
         for (T item : items) {
-            String itemID = idGetter.apply(item);
-            registredItemsIDs.add(itemID);
-
-            if (!itemDependencies.containsKey(itemID)) {
-                Set<T> dependencies = dependenciesGetter.apply(item);
-                Set<String> dependenciesIDs = new HashSet<>();
-                dependencies.forEach((dependency) -> {
-                    String dependencyID = idGetter.apply(dependency);
-                    dependenciesIDs.add(dependencyID);
-                    if (!registredItemsIDs.contains(dependencyID)) {
-                        registredItemsIDs.add(dependencyID);
-                        remainingItems.add(dependency);
-                    }
-
-                });
-                itemDependencies.put(itemID, dependenciesIDs);
+            if (itemsByID.putIfAbsent(idGetter.apply(item), item) == null) {
+                itemsToResolve.add(item);
             }
-            Set<String> dependencies = itemDependencies.get(itemID);
-
-            if (dependencies.size() == 0) {
-                rootDependencyBuildOrder.addNext(new BuildOrderUnique<T>(item));
-                resolvedItems.add(itemID);
-            } else {
-                remainingItems.add(item);
-            }
-        }
-
-        if (remainingItems.size() > 0 && remainingItemCount == items.size()) {
-            throw new BuildOrderUnsolvableException();
         }
 
-        dependencyBuildOrder.addNext(rootDependencyBuildOrder);
-
-        while (remainingItems.size() > 0) {
-            BuildOrderAsync<T> loopDependencyBuildOrder = new BuildOrderAsync<T>();
-            final AtomicBoolean loopEvolution = new AtomicBoolean(false);
-
-            for (T item : remainingItems) {
-
-                String itemID = idGetter.apply(item);
-
-                if (!itemDependencies.containsKey(itemID)) {
-                    Set<T> dependencies = dependenciesGetter.apply(item);
-                    Set<String> dependenciesIDs = new HashSet<>();
-                    dependencies.forEach((dependency) -> {
-                        String dependencyID = idGetter.apply(dependency);
-                        dependenciesIDs.add(dependencyID);
-                        if (!registredItemsIDs.contains(dependencyID)) {
-                            registredItemsIDs.add(dependencyID);
-                            remainingItems.add(dependency);
-                            loopEvolution.set(true);
-                        }
-
-                    });
-                    itemDependencies.put(itemID, dependenciesIDs);
-                }
-                Set<String> dependencies = itemDependencies.get(itemID);
-
-                if (resolvedItems.contains(itemID)) {
-                    remainingItems.remove(item);
-                    loopEvolution.set(true);
-                } else {
-
-                    for (String dependencyID : dependencies) {
-                        if (resolvedItems.contains(dependencyID)) {
-                            dependencies.remove(dependencyID);
-                        }
-                    }
-
-                    if (dependencies.size() == 0) {
-                        remainingItems.remove(item);
-                        loopEvolution.set(true);
-                        loopDependencyBuildOrder.addNext(new BuildOrderUnique<T>(item));
+        Map<T, Set<T>> itemDependencies = new IdentityHashMap<>();
+        while (!itemsToResolve.isEmpty()) {
+            T item = itemsToResolve.poll();
+            Set<T> dependencies = new LinkedHashSet<>();
+            Set<T> declaredDependencies = dependenciesGetter.apply(item);
+            if (declaredDependencies != null) {
+                for (T dependency : declaredDependencies) {
+                    String dependencyID = idGetter.apply(dependency);
+                    T registeredDependency = itemsByID.putIfAbsent(dependencyID, dependency);
+                    if (registeredDependency == null) {
+                        registeredDependency = dependency;
+                        itemsToResolve.add(dependency);
                     }
-
+                    dependencies.add(registeredDependency);
                 }
             }
-
-            if (!loopEvolution.get()) {
-                throw new BuildOrderUnsolvableException();
-            }
-
-            if (!loopDependencyBuildOrder.isEmpty()) {
-                dependencyBuildOrder.addNext(loopDependencyBuildOrder);
-            }
+            itemDependencies.put(item, dependencies);
         }
 
-        return dependencyBuildOrder;
+        return new BuildOrderGraph<>(itemsByID.values(), itemDependencies, idGetter);
     }
 }
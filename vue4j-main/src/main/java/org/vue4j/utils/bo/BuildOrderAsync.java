@@ -1,15 +1,25 @@
 package org.vue4j.utils.bo;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public class BuildOrderAsync<T> extends BuildOrderSync<T> {
 
     @Override
-    public void execute(Consumer<T> action) {
-        items.parallelStream().forEach(bo -> {
-            bo.execute(action);
-        });
+    public void execute(Consumer<T> action, Executor executor) {
+        CompletableFuture<?>[] futures = items.stream().map(bo -> {
+            return CompletableFuture.runAsync(() -> bo.execute(action, executor), executor);
+        }).toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
     }
 }
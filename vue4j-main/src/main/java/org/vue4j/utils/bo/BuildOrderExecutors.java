@@ -0,0 +1,82 @@
+package org.vue4j.utils.bo;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory of dedicated executors for build order items, keeping blocking lifecycle actions out of the common
+ * ForkJoinPool.
+ *
+ * @author Vincent Migot
+ */
+public final class BuildOrderExecutors {
+
+    private final static Logger LOGGER = LoggerFactory.getLogger(BuildOrderExecutors.class);
+
+    private BuildOrderExecutors() {
+
+    }
+
+    /**
+     * Return shared executor used when no executor is given, bounded to available processors count.
+     *
+     * @return Default executor
+     */
+    public static ExecutorService getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Create a bounded pool of daemon platform threads, idle threads are released after a while.
+     *
+     * @param parallelism Maximum number of items executed in parallel, available processors count if 0
+     * @return Executor service
+     */
+    public static ExecutorService newFixedThreadPool(int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Build order parallelism must not be negative: " + parallelism);
+        }
+        if (parallelism == 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), (runnable) -> {
+            Thread thread = new Thread(runnable, "vue4j-build-order-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    /**
+     * Create an executor starting a virtual thread per item if supported by current JVM (Java 21+), otherwise a
+     * bounded pool of platform threads of given parallelism.
+     *
+     * @param fallbackParallelism Parallelism of fallback platform threads pool, available processors count if 0
+     * @return Executor service
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(int fallbackParallelism) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            LOGGER.warn("Virtual threads are not supported by current JVM, use platform threads for build order");
+            return newFixedThreadPool(fallbackParallelism);
+        }
+    }
+
+    private static class DefaultExecutorHolder {
+
+        private final static ExecutorService EXECUTOR = newFixedThreadPool(0);
+    }
+}
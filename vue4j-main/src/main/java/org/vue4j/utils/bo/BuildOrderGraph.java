@@ -0,0 +1,539 @@
+package org.vue4j.utils.bo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * <pre>
+ * Build order executing items as a dependency graph.
+ *
+ * Each item is started as soon as all its own dependencies are done, instead
+ * of waiting for a whole level of items, so execution time is bound by the
+ * longest dependency chain. Reverse execution starts an item when all items
+ * depending on it are done.
+ *
+ * A failed item only cancels items depending on it, which are skipped as
+ * soon as the failure occurs, other branches of the graph keep running.
+ * </pre>
+ *
+ * @author Vincent Migot
+ * @param <T> Item type
+ */
+public class BuildOrderGraph<T> implements BuildOrder<T> {
+
+    /**
+     * Items in topological order.
+     */
+    private final List<T> items;
+
+    /**
+     * Dependencies indexes of each item.
+     */
+    private final int[][] dependencies;
+
+    /**
+     * Indexes of items depending on each item.
+     */
+    private final int[][] dependents;
+
+    /**
+     * True for threads currently running an item action.
+     */
+    private final static ThreadLocal<Boolean> RUNNING_ITEM = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Constructor.
+     *
+     * @param items Items to execute
+     * @param itemDependencies Dependencies of each item, all dependencies must be part of items
+     * @throws BuildOrderUnsolvableException if dependencies contain a cycle
+     */
+    public BuildOrderGraph(Collection<T> items, Map<T, ? extends Collection<T>> itemDependencies) throws BuildOrderUnsolvableException {
+        this(items, itemDependencies, String::valueOf);
+    }
+
+    /**
+     * Constructor sorting items in O(items + dependencies) time.
+     *
+     * @param items Items to execute
+     * @param itemDependencies Dependencies of each item, all dependencies must be part of items
+     * @param idGetter Item identifier used to report dependency cycles
+     * @throws BuildOrderUnsolvableException if dependencies contain a cycle, with the identifiers of one cycle items
+     */
+    public BuildOrderGraph(Collection<T> items, Map<T, ? extends Collection<T>> itemDependencies, Function<T, String> idGetter) throws BuildOrderUnsolvableException {
+        int size = items.size();
+        List<T> unorderedItems = new ArrayList<>(items);
+        Map<T, Integer> indexes = new IdentityHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            indexes.put(unorderedItems.get(i), i);
+        }
+
+        List<List<Integer>> unorderedDependents = new ArrayList<>(size);
+        List<List<Integer>> unorderedDependencies = new ArrayList<>(size);
+        int[] dependencyCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            unorderedDependents.add(new ArrayList<>());
+            unorderedDependencies.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            Collection<T> dependenciesOfItem = itemDependencies.get(unorderedItems.get(i));
+            if (dependenciesOfItem == null) {
+                continue;
+            }
+            for (T dependency : dependenciesOfItem) {
+                Integer dependencyIndex = indexes.get(dependency);
+                if (dependencyIndex == null) {
+                    throw new IllegalArgumentException("Dependency is not part of build order items: " + dependency);
+                }
+                unorderedDependents.get(dependencyIndex).add(i);
+                unorderedDependencies.get(i).add(dependencyIndex);
+                dependencyCounts[i]++;
+            }
+        }
+
+        // Sort items topologically with Kahn's algorithm
+        int[] order = new int[size];
+        int orderedCount = 0;
+        Deque<Integer> readyItems = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            if (dependencyCounts[i] == 0) {
+                readyItems.add(i);
+            }
+        }
+        while (!readyItems.isEmpty()) {
+            int i = readyItems.poll();
+            order[orderedCount++] = i;
+            for (int dependent : unorderedDependents.get(i)) {
+                if (--dependencyCounts[dependent] == 0) {
+                    readyItems.add(dependent);
+                }
+            }
+        }
+
+        if (orderedCount < size) {
+            List<String> cycle = new ArrayList<>();
+            for (int i : findCycle(dependencyCounts, unorderedDependencies)) {
+                cycle.add(idGetter.apply(unorderedItems.get(i)));
+            }
+            throw new BuildOrderUnsolvableException(cycle);
+        }
+
+        int[] positions = new int[size];
+        for (int position = 0; position < size; position++) {
+            positions[order[position]] = position;
+        }
+
+        this.items = new ArrayList<>(size);
+        this.dependents = new int[size][];
+        this.dependencies = new int[size][];
+        List<List<Integer>> orderedDependencies = new ArrayList<>(size);
+        for (int position = 0; position < size; position++) {
+            orderedDependencies.add(new ArrayList<>());
+        }
+        for (int position = 0; position < size; position++) {
+            int i = order[position];
+            this.items.add(unorderedItems.get(i));
+            List<Integer> dependentsOfItem = unorderedDependents.get(i);
+            int[] dependentPositions = new int[dependentsOfItem.size()];
+            for (int d = 0; d < dependentPositions.length; d++) {
+                dependentPositions[d] = positions[dependentsOfItem.get(d)];
+                orderedDependencies.get(dependentPositions[d]).add(position);
+            }
+            this.dependents[position] = dependentPositions;
+        }
+        for (int position = 0; position < size; position++) {
+            this.dependencies[position] = orderedDependencies.get(position).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private BuildOrderGraph(List<T> items, int[][] dependencies, int[][] dependents) {
+        this.items = items;
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+    }
+
+    /**
+     * Return a build order with the same order and dependencies for items mapped to other values, without sorting them
+     * again.
+     *
+     * @param <R> Mapped item type
+     * @param mapper Item mapper, must return a distinct value for each item
+     * @return Build order of mapped items
+     */
+    public <R> BuildOrderGraph<R> map(Function<T, R> mapper) {
+        List<R> mappedItems = new ArrayList<>(items.size());
+        for (T item : items) {
+            mappedItems.add(mapper.apply(item));
+        }
+        return new BuildOrderGraph<>(mappedItems, dependencies, dependents);
+    }
+
+    /**
+     * Find a cycle among items left unsorted, each of them has at least one unsorted dependency so following them
+     * always leads to a cycle.
+     *
+     * @param dependencyCounts Remaining dependencies count of each item, positive for unsorted items
+     * @param itemDependencies Dependencies indexes of each item
+     * @return Indexes of cycle items, each one depending on the next one and the last one on the first one
+     */
+    private static List<Integer> findCycle(int[] dependencyCounts, List<List<Integer>> itemDependencies) {
+        int current = 0;
+        while (dependencyCounts[current] == 0) {
+            current++;
+        }
+
+        Map<Integer, Integer> pathPositions = new HashMap<>();
+        List<Integer> path = new ArrayList<>();
+        while (!pathPositions.containsKey(current)) {
+            pathPositions.put(current, path.size());
+            path.add(current);
+            for (int dependency : itemDependencies.get(current)) {
+                if (dependencyCounts[dependency] > 0) {
+                    current = dependency;
+                    break;
+                }
+            }
+        }
+
+        return path.subList(pathPositions.get(current), path.size());
+    }
+
+    /**
+     * Return items in a valid sequential execution order.
+     *
+     * @return Items in topological order
+     */
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Return the chain of dependent items with the longest total duration, which bounds the duration of a parallel
+     * execution.
+     *
+     * @param durations Duration of each item
+     * @return Critical path items, each one depending on the previous one
+     */
+    public List<T> getCriticalPath(ToLongFunction<T> durations) {
+        int size = items.size();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+
+        // Items are in topological order so dependencies paths are always computed first
+        long[] pathDurations = new long[size];
+        int[] previousItems = new int[size];
+        int lastItem = 0;
+        for (int i = 0; i < size; i++) {
+            previousItems[i] = -1;
+            long longestDependencyPath = 0;
+            for (int dependency : dependencies[i]) {
+                if (pathDurations[dependency] > longestDependencyPath || previousItems[i] < 0) {
+                    longestDependencyPath = pathDurations[dependency];
+                    previousItems[i] = dependency;
+                }
+            }
+            pathDurations[i] = longestDependencyPath + durations.applyAsLong(items.get(i));
+            if (pathDurations[i] > pathDurations[lastItem]) {
+                lastItem = i;
+            }
+        }
+
+        Deque<T> criticalPath = new ArrayDeque<>();
+        for (int i = lastItem; i >= 0; i = previousItems[i]) {
+            criticalPath.addFirst(items.get(i));
+        }
+        return new ArrayList<>(criticalPath);
+    }
+
+    @Override
+    public void execute(Consumer<T> action) {
+        execute(action, BuildOrderExecutors.getDefaultExecutor());
+    }
+
+    @Override
+    public void execute(Consumer<T> action, Executor executor) {
+        executeChecked(toPredicate(action), executor).rethrowFirstFailure();
+    }
+
+    @Override
+    public void executeReverse(Consumer<T> action) {
+        executeReverse(action, BuildOrderExecutors.getDefaultExecutor());
+    }
+
+    @Override
+    public void executeReverse(Consumer<T> action, Executor executor) {
+        executeReverseChecked(toPredicate(action), executor).rethrowFirstFailure();
+    }
+
+    /**
+     * Execute action on items as a dependency graph, items depending directly or transitively on a failed item are
+     * skipped as soon as the failure occurs while independent items keep running.
+     *
+     * @param action Action to execute, returning false on failure
+     * @param executor Executor of parallel parts
+     * @return Failed and skipped items
+     */
+    @Override
+    public BuildOrderResult<T> executeChecked(Predicate<T> action, Executor executor) {
+        return executeGraph(action, executor, dependencies, dependents);
+    }
+
+    /**
+     * Execute action on items in reverse dependency order, items which dependencies failed are skipped.
+     *
+     * @param action Action to execute, returning false on failure
+     * @param executor Executor of parallel parts
+     * @return Failed and skipped items
+     */
+    @Override
+    public BuildOrderResult<T> executeReverseChecked(Predicate<T> action, Executor executor) {
+        return executeGraph(action, executor, dependents, dependencies);
+    }
+
+    @Override
+    public void executeSync(Consumer<T> action) {
+        items.forEach(action);
+    }
+
+    @Override
+    public void executeReverseSync(Consumer<T> action) {
+        for (int i = items.size() - 1; i >= 0; i--) {
+            action.accept(items.get(i));
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    private static <T> Predicate<T> toPredicate(Consumer<T> action) {
+        return (item) -> {
+            action.accept(item);
+            return true;
+        };
+    }
+
+    /**
+     * Execute action on each item once all items it waits for are done, items waiting directly or transitively for a
+     * failed item are skipped as soon as it fails.
+     *
+     * A build order executed from an item action runs on the calling thread, waiting for items queued on the same
+     * bounded executor could otherwise dead lock.
+     */
+    private BuildOrderResult<T> executeGraph(Predicate<T> action, Executor executor, int[][] waitFor, int[][] unlocks) {
+        BuildOrderResult<T> result = new BuildOrderResult<>();
+        int size = items.size();
+        if (size == 0) {
+            result.end();
+            return result;
+        }
+
+        GraphExecution execution = new GraphExecution(action, result, executor, RUNNING_ITEM.get(), waitFor, unlocks);
+        for (int i = 0; i < size; i++) {
+            if (waitFor[i].length == 0 && execution.claim(i, STARTED)) {
+                execution.dispatch(i);
+            }
+        }
+        execution.await();
+        result.end();
+
+        return result;
+    }
+
+    private final static int PENDING = 0;
+
+    private final static int STARTED = 1;
+
+    private final static int SKIPPED = 2;
+
+    private class GraphExecution {
+
+        private final Executor executor;
+
+        /**
+         * True to run items on the calling thread, ready items are then queued instead of executed recursively.
+         */
+        private final boolean inline;
+
+        private final Predicate<T> action;
+
+        private final BuildOrderResult<T> result;
+
+        private final int[][] unlocks;
+
+        private final AtomicIntegerArray remainingWaits;
+
+        /**
+         * State of each item: PENDING, STARTED or SKIPPED.
+         */
+        private final AtomicIntegerArray states;
+
+        private final CountDownLatch done;
+
+        private final Deque<Integer> inlineReadyItems = new ArrayDeque<>();
+
+        private boolean inlineDraining = false;
+
+        private GraphExecution(Predicate<T> action, BuildOrderResult<T> result, Executor executor, boolean inline, int[][] waitFor, int[][] unlocks) {
+            this.action = action;
+            this.result = result;
+            this.executor = executor;
+            this.inline = inline;
+            this.unlocks = unlocks;
+            this.remainingWaits = new AtomicIntegerArray(waitFor.length);
+            this.states = new AtomicIntegerArray(waitFor.length);
+            for (int i = 0; i < waitFor.length; i++) {
+                remainingWaits.set(i, waitFor[i].length);
+            }
+            this.done = new CountDownLatch(waitFor.length);
+        }
+
+        private boolean claim(int i, int state) {
+            return states.compareAndSet(i, PENDING, state);
+        }
+
+        /**
+         * Run a started item, on the calling thread if inline or on the executor otherwise. An item rejected by the
+         * executor is failed, which skips its dependents without making any other item ready.
+         */
+        private void dispatch(int i) {
+            if (inline) {
+                inlineReadyItems.add(i);
+                if (!inlineDraining) {
+                    inlineDraining = true;
+                    try {
+                        while (!inlineReadyItems.isEmpty()) {
+                            runChain(inlineReadyItems.poll());
+                        }
+                    } finally {
+                        inlineDraining = false;
+                    }
+                }
+                return;
+            }
+
+            try {
+                executor.execute(() -> runChain(i));
+            } catch (RejectedExecutionException ex) {
+                result.addFailure(items.get(i), ex);
+                complete(i, false);
+            }
+        }
+
+        /**
+         * Run an item then, in the same task, one of the items it makes ready while the other ones are dispatched, so
+         * dependency chains are run in a loop instead of recursively.
+         */
+        private void runChain(int i) {
+            int next = i;
+            while (next >= 0) {
+                List<Integer> readyItems = complete(next, run(next));
+                next = -1;
+                for (int ready : readyItems) {
+                    if (next < 0 && !inline) {
+                        next = ready;
+                    } else {
+                        dispatch(ready);
+                    }
+                }
+            }
+        }
+
+        private boolean run(int i) {
+            boolean nested = RUNNING_ITEM.get();
+            RUNNING_ITEM.set(true);
+            try {
+                return result.run(items.get(i), action);
+            } finally {
+                RUNNING_ITEM.set(nested);
+            }
+        }
+
+        /**
+         * Mark an item as done, skipping all items waiting for it if it failed, and return items waiting only for it.
+         *
+         * @param i Item index
+         * @param success true if item action succeeded
+         * @return Indexes of items ready to start
+         */
+        private List<Integer> complete(int i, boolean success) {
+            if (!success) {
+                skipWaitingItems(i);
+            }
+            done.countDown();
+
+            List<Integer> readyItems = new ArrayList<>();
+            for (int unlocked : unlocks[i]) {
+                if (remainingWaits.decrementAndGet(unlocked) == 0 && claim(unlocked, STARTED)) {
+                    readyItems.add(unlocked);
+                }
+            }
+            return readyItems;
+        }
+
+        /**
+         * Skip all items waiting directly or transitively for a failed item, without waiting for their other
+         * dependencies.
+         */
+        private void skipWaitingItems(int failedItem) {
+            Deque<Integer> toSkip = new ArrayDeque<>();
+            toSkip.add(failedItem);
+            while (!toSkip.isEmpty()) {
+                for (int waiting : unlocks[toSkip.poll()]) {
+                    if (claim(waiting, SKIPPED)) {
+                        result.addSkipped(items.get(waiting), items.get(failedItem));
+                        done.countDown();
+                        toSkip.add(waiting);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Wait for all items to be done, running items can not be cancelled so interruption is only restored
+         * afterward.
+         */
+        private void await() {
+            boolean interrupted = false;
+            while (done.getCount() > 0) {
+                try {
+                    ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                        @Override
+                        public boolean block() throws InterruptedException {
+                            done.await();
+                            return true;
+                        }
+
+                        @Override
+                        public boolean isReleasable() {
+                            return done.getCount() == 0;
+                        }
+                    });
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
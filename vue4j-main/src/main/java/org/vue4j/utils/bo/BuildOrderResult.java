@@ -0,0 +1,189 @@
+package org.vue4j.utils.bo;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Outcome of a failure aware build order execution: failed items, items skipped because one of the items they wait for
+ * failed or was skipped, and execution times of items.
+ *
+ * @author Vincent Migot
+ * @param <T> Item type
+ */
+public class BuildOrderResult<T> {
+
+    private final Map<T, Throwable> failures = new LinkedHashMap<>();
+
+    private final Map<T, T> skipped = new LinkedHashMap<>();
+
+    /**
+     * Start time and duration of executed items in start order, in nanoseconds, duration is -1 while item is running.
+     */
+    private final Map<T, long[]> timings = new LinkedHashMap<>();
+
+    private final long startTime = System.nanoTime();
+
+    private volatile long endTime = -1;
+
+    /**
+     * Run action on an item, recording its failure.
+     *
+     * @param item Item
+     * @param action Action returning false on failure
+     * @return true if action succeeded
+     */
+    boolean run(T item, Predicate<T> action) {
+        long[] timing = startTiming(item);
+        try {
+            if (action.test(item)) {
+                return true;
+            }
+            addFailure(item, null);
+        } catch (Throwable t) {
+            addFailure(item, t);
+        } finally {
+            endTiming(timing);
+        }
+        return false;
+    }
+
+    private synchronized long[] startTiming(T item) {
+        long[] timing = new long[]{System.nanoTime(), -1};
+        timings.put(item, timing);
+        return timing;
+    }
+
+    private synchronized void endTiming(long[] timing) {
+        timing[1] = System.nanoTime() - timing[0];
+    }
+
+    void end() {
+        endTime = System.nanoTime();
+    }
+
+    synchronized void addFailure(T item, Throwable failure) {
+        failures.put(item, failure);
+    }
+
+    synchronized void addSkipped(T item, T failedItem) {
+        skipped.put(item, failedItem);
+    }
+
+    public synchronized boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Return failed items in failure order.
+     *
+     * @return Failed items
+     */
+    public synchronized Set<T> getFailedItems() {
+        return Collections.unmodifiableSet(new LinkedHashMap<>(failures).keySet());
+    }
+
+    /**
+     * Return exception thrown by a failed item action.
+     *
+     * @param item Failed item
+     * @return Thrown exception, null if item action reported a failure without throwing or if item did not fail
+     */
+    public synchronized Throwable getFailure(T item) {
+        return failures.get(item);
+    }
+
+    /**
+     * Return first exception thrown by an item action.
+     *
+     * @return First thrown exception, null if none
+     */
+    public synchronized Throwable getFirstFailure() {
+        for (Throwable failure : failures.values()) {
+            if (failure != null) {
+                return failure;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rethrow first exception thrown by an item action if any, checked exceptions are wrapped in a RuntimeException.
+     */
+    public void rethrowFirstFailure() {
+        Throwable failure = getFirstFailure();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    /**
+     * Return items which were not executed because an item they wait for failed, in skip order.
+     *
+     * @return Skipped items
+     */
+    public synchronized Set<T> getSkippedItems() {
+        return Collections.unmodifiableSet(new LinkedHashMap<>(skipped).keySet());
+    }
+
+    /**
+     * Return failed item which caused an item to be skipped.
+     *
+     * @param item Skipped item
+     * @return Failed item, null if item was not skipped
+     */
+    public synchronized T getSkipCause(T item) {
+        return skipped.get(item);
+    }
+
+    /**
+     * Return time elapsed between execution start and end of last item.
+     *
+     * @return Execution duration in nanoseconds
+     */
+    public long getDuration() {
+        long end = endTime;
+        return (end < 0 ? System.nanoTime() : end) - startTime;
+    }
+
+    /**
+     * Return items which action was executed, in start order.
+     *
+     * @return Executed items
+     */
+    public synchronized Set<T> getExecutedItems() {
+        return Collections.unmodifiableSet(new LinkedHashMap<>(timings).keySet());
+    }
+
+    /**
+     * Return time elapsed between execution start and item action start.
+     *
+     * @param item Item
+     * @return Item start offset in nanoseconds, -1 if item action was not executed
+     */
+    public synchronized long getStartOffset(T item) {
+        long[] timing = timings.get(item);
+        return timing == null ? -1 : timing[0] - startTime;
+    }
+
+    /**
+     * Return item action execution time.
+     *
+     * @param item Item
+     * @return Item action duration in nanoseconds, time elapsed since start if still running, 0 if item action was not
+     * executed
+     */
+    public synchronized long getDuration(T item) {
+        long[] timing = timings.get(item);
+        if (timing == null) {
+            return 0;
+        }
+        return timing[1] < 0 ? System.nanoTime() - timing[0] : timing[1];
+    }
+}
@@ -1,6 +1,7 @@
 package org.vue4j.utils.bo;
 
 import java.util.LinkedList;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public class BuildOrderSync<T> implements BuildOrder<T> {
@@ -17,15 +18,25 @@ public class BuildOrderSync<T> implements BuildOrder<T> {
 
     @Override
     public void execute(Consumer<T> action) {
+        execute(action, BuildOrderExecutors.getDefaultExecutor());
+    }
+
+    @Override
+    public void execute(Consumer<T> action, Executor executor) {
         items.stream().forEach(bo -> {
-            bo.execute(action);
+            bo.execute(action, executor);
         });
     }
 
     @Override
     public void executeReverse(Consumer<T> action) {
+        executeReverse(action, BuildOrderExecutors.getDefaultExecutor());
+    }
+
+    @Override
+    public void executeReverse(Consumer<T> action, Executor executor) {
         items.descendingIterator().forEachRemaining(bo -> {
-            bo.execute(action);
+            bo.execute(action, executor);
         });
     }
 
@@ -1,9 +1,33 @@
 package org.vue4j.utils.bo;
 
+import java.util.Collections;
+import java.util.List;
+
 public class BuildOrderUnsolvableException extends Exception {
 
+    private final List<String> cycle;
+
     public BuildOrderUnsolvableException() {
         super();
+        this.cycle = Collections.emptyList();
+    }
+
+    /**
+     * Constructor with the items of a dependency cycle.
+     *
+     * @param cycle Items identifiers, each one depending on the next one and the last one on the first one
+     */
+    public BuildOrderUnsolvableException(List<String> cycle) {
+        super("Cyclic dependency: " + String.join(" -> ", cycle) + (cycle.isEmpty() ? "" : " -> " + cycle.get(0)));
+        this.cycle = Collections.unmodifiableList(cycle);
+    }
+
+    /**
+     * Return identifiers of items in a dependency cycle, each one depending on the next one.
+     *
+     * @return Cycle items identifiers, empty if unknown
+     */
+    public List<String> getCycle() {
+        return cycle;
     }
-    
 }
@@ -0,0 +1,77 @@
+package org.vue4j.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vue4j.modules.ModuleClassLoader;
+
+/**
+ * Tests of ConfigProxyHandler class values.
+ *
+ * @author Vincent Migot
+ */
+public class ConfigProxyHandlerTest {
+
+    private final static String INITIALIZED_PROPERTY = "vue4j.test.module.handler.initialized";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public interface HandlerConfig {
+
+        @ConfigDescription(value = "Handler class", defaultClass = String.class)
+        public Class<?> handler();
+
+        @ConfigDescription(value = "Default handler class", defaultClass = String.class)
+        public Class<?> defaultHandler();
+    }
+
+    @Test
+    public void testModuleClassLoadedWithModuleClassLoader() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(compiler);
+
+        // Module class only available in modules class loader, recording its initialization
+        File classesDirectory = folder.newFolder("classes");
+        Path source = folder.getRoot().toPath().resolve("Handler.java");
+        Files.write(source, ("package module;\n"
+                + "public class Handler {\n"
+                + "    static { System.setProperty(\"" + INITIALIZED_PROPERTY + "\", \"true\"); }\n"
+                + "}\n").getBytes(StandardCharsets.UTF_8));
+        assertEquals(0, compiler.run(null, null, null, "-d", classesDirectory.getPath(), source.toString()));
+
+        ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+        JsonNode rootNode = yamlMapper.readTree("test:\n  handler: module.Handler\n");
+
+        Thread currentThread = Thread.currentThread();
+        ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+        try (ModuleClassLoader classLoader = new ModuleClassLoader(previousClassLoader)) {
+            classLoader.addURLs(Arrays.asList(classesDirectory.toURI().toURL()));
+            currentThread.setContextClassLoader(classLoader);
+
+            HandlerConfig config = ConfigProxyHandler.newProxy(HandlerConfig.class, "test", rootNode, yamlMapper);
+
+            assertEquals("module.Handler", config.handler().getName());
+            assertSame(classLoader, config.handler().getClassLoader());
+            assertSame(String.class, config.defaultHandler());
+            assertNull("Class must not be initialized when configuration is read", System.getProperty(INITIALIZED_PROPERTY));
+        } finally {
+            currentThread.setContextClassLoader(previousClassLoader);
+            System.clearProperty(INITIALIZED_PROPERTY);
+        }
+    }
+}
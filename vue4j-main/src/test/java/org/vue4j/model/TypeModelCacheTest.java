@@ -0,0 +1,134 @@
+package org.vue4j.model;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Tests of TypeModelCache loading, eviction and invalidation.
+ *
+ * @author Vincent Migot
+ */
+public class TypeModelCacheTest {
+
+    private final static Function<URI, TypeModel> NO_LOADER = (uri) -> {
+        throw new IllegalStateException("Unexpected type load: " + uri);
+    };
+
+    private static TypeModel type(String uri, TypeModel parent) {
+        TypeModel type = new TypeModel();
+        type.setUri(URI.create(uri));
+        type.setParent(parent);
+        return type;
+    }
+
+    @Test
+    public void testSingleFlightLoading() throws Exception {
+        TypeModelCache cache = new TypeModelCache();
+        URI uri = URI.create("test:Type");
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<TypeModel> first = executor.submit(() -> cache.get(uri, (u) -> {
+                loadCount.incrementAndGet();
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                return type(u.toString(), null);
+            }));
+            loading.await();
+            Future<TypeModel> second = executor.submit(() -> cache.get(uri, NO_LOADER));
+            release.countDown();
+
+            assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, loadCount.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        TypeModelCache cache = new TypeModelCache(2, Duration.ofHours(1));
+        TypeModel a = type("test:A", null);
+        TypeModel b = type("test:B", null);
+        cache.put(a);
+        cache.put(b);
+        cache.get(a.getUri(), NO_LOADER);
+
+        cache.put(type("test:C", null));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.getIfPresent(a.getUri()));
+        assertNull(cache.getIfPresent(b.getUri()));
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testInvalidateDescendants() {
+        TypeModelCache cache = new TypeModelCache();
+        TypeModel parent = type("test:P", null);
+        TypeModel child = type("test:C", parent);
+        TypeModel grandChild = type("test:G", child);
+        TypeModel other = type("test:O", null);
+        cache.put(parent);
+        cache.put(child);
+        cache.put(grandChild);
+        cache.put(other);
+
+        cache.invalidate(parent.getUri());
+
+        assertNull(cache.getIfPresent(parent.getUri()));
+        assertNull(cache.getIfPresent(child.getUri()));
+        assertNull(cache.getIfPresent(grandChild.getUri()));
+        assertNotNull(cache.getIfPresent(other.getUri()));
+    }
+
+    @Test
+    public void testEvictedIntermediateTypeKeepsDescendantsReachable() {
+        TypeModelCache cache = new TypeModelCache(3, Duration.ofHours(1));
+        TypeModel parent = type("test:P", null);
+        TypeModel child = type("test:C", parent);
+        TypeModel grandChild = type("test:G", child);
+        cache.put(parent);
+        cache.put(child);
+        cache.put(grandChild);
+        cache.get(parent.getUri(), NO_LOADER);
+        cache.get(grandChild.getUri(), NO_LOADER);
+
+        // C is the least recently used type, evicting it also evicts G which references it
+        TypeModel other = type("test:O", null);
+        cache.put(other);
+        assertNull(cache.getIfPresent(child.getUri()));
+        assertNull(cache.getIfPresent(grandChild.getUri()));
+        assertNotNull(cache.getIfPresent(parent.getUri()));
+        cache.invalidate(other.getUri());
+
+        TypeModel reloadedChild = type("test:C", parent);
+        cache.put(reloadedChild);
+        cache.put(type("test:G", reloadedChild));
+        assertEquals(3, cache.size());
+        cache.invalidate(parent.getUri());
+
+        assertNull(cache.getIfPresent(parent.getUri()));
+        assertNull(cache.getIfPresent(child.getUri()));
+        assertNull(cache.getIfPresent(grandChild.getUri()));
+    }
+}
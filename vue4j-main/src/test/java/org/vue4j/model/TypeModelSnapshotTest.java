@@ -0,0 +1,103 @@
+package org.vue4j.model;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of TypeModelSnapshot binary format.
+ *
+ * @author Vincent Migot
+ */
+public class TypeModelSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static FieldModel field(String id, boolean inherited) {
+        FieldModel field = new FieldModel();
+        field.setId(id);
+        field.setDataType(URI.create("http://www.w3.org/2001/XMLSchema#string"));
+        field.setInherited(inherited);
+        field.setRequired(true);
+        field.setMaxCardinality(1);
+        field.setNames(Collections.singletonMap("en", id + " name"));
+        field.setRestrictions(Collections.emptySet());
+        return field;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        TypeModel parent = new TypeModel();
+        parent.setUri(URI.create("test:Parent"));
+        parent.setNames(Collections.singletonMap("en", "Parent"));
+        FieldModel parentField = field("parentField", false);
+        parent.setFields(Collections.singletonMap(parentField.getId(), parentField));
+        parent.setFieldsOrder(Arrays.asList(parentField.getId()));
+
+        TypeModel child = new TypeModel();
+        child.setUri(URI.create("test:Child"));
+        child.setParent(parent);
+        child.setNames(Collections.singletonMap("fr", "Enfant"));
+        FieldModel childField = field("childField", false);
+        Map<String, FieldModel> childFields = new HashMap<>(parent.getFields());
+        childFields.put(childField.getId(), childField);
+        child.setFields(childFields);
+        child.setFieldsOrder(Arrays.asList(parentField.getId(), childField.getId()));
+
+        Path file = folder.getRoot().toPath().resolve("types.snapshot");
+        TypeModelSnapshot.write(file, "v1", Collections.singletonList(child));
+        Map<URI, TypeModel> types = TypeModelSnapshot.read(file, "v1");
+
+        assertEquals(2, types.size());
+        TypeModel readParent = types.get(parent.getUri());
+        TypeModel readChild = types.get(child.getUri());
+        assertSame(readParent, readChild.getParent());
+        assertNull(readParent.getParent());
+        assertEquals("Parent", readParent.getNames().get("en"));
+        assertEquals("Enfant", readChild.getNames().get("fr"));
+        assertEquals(child.getFieldsOrder(), readChild.getFieldsOrder());
+
+        // Inherited fields are shared with parent
+        assertSame(readParent.getFields().get("parentField"), readChild.getFields().get("parentField"));
+        FieldModel readField = readChild.getFields().get("childField");
+        assertEquals(childField.getDataType(), readField.getDataType());
+        assertTrue(readField.isRequired());
+        assertFalse(readField.isInherited());
+        assertEquals(1, readField.getMaxCardinality());
+        assertEquals("childField name", readField.getNames().get("en"));
+    }
+
+    @Test
+    public void testOtherOntologyVersionIgnored() throws Exception {
+        TypeModel type = new TypeModel();
+        type.setUri(URI.create("test:Type"));
+        type.setFields(Collections.emptyMap());
+
+        Path file = folder.getRoot().toPath().resolve("types.snapshot");
+        TypeModelSnapshot.write(file, "v1", Collections.singletonList(type));
+
+        assertTrue(TypeModelSnapshot.read(file, "v2").isEmpty());
+    }
+
+    @Test
+    public void testInvalidFileIgnored() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("types.snapshot");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        assertTrue(TypeModelSnapshot.read(file, "v1").isEmpty());
+        assertTrue(TypeModelSnapshot.read(folder.getRoot().toPath().resolve("missing"), "v1").isEmpty());
+    }
+}
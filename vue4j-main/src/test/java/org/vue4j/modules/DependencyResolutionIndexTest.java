@@ -0,0 +1,114 @@
+package org.vue4j.modules;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vue4j.modules.DependencyResolutionIndex.ModuleResolution;
+
+/**
+ * Tests of DependencyResolutionIndex file format and entries validity.
+ *
+ * @author Vincent Migot
+ */
+public class DependencyResolutionIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File createFile(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private ModuleResolution createResolution(File jarFile, File artifactFile) {
+        Map<String, File> artifacts = new LinkedHashMap<>();
+        artifacts.put("org.test:dependency:jar", artifactFile);
+        return new ModuleResolution(jarFile, "org.test:module:jar", "org.test:module:jar:1.0",
+                new LinkedHashSet<>(Arrays.asList("org.test:dependency:jar:1.0")), artifacts);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        File jarFile = createFile("module.jar", "module");
+        File artifactFile = createFile("dependency.jar", "dependency");
+        Path indexFile = folder.getRoot().toPath().resolve("dependencies.index");
+
+        DependencyResolutionIndex index = DependencyResolutionIndex.read(indexFile);
+        assertNull(index.get(jarFile));
+        index.put(createResolution(jarFile, artifactFile));
+        assertTrue(index.isModified());
+        index.write(indexFile);
+        assertFalse(index.isModified());
+
+        DependencyResolutionIndex readIndex = DependencyResolutionIndex.read(indexFile);
+        ModuleResolution resolution = readIndex.get(jarFile);
+        assertNotNull(resolution);
+        assertFalse(readIndex.isModified());
+        assertEquals(jarFile.getAbsoluteFile(), resolution.getJarFile());
+        assertEquals("org.test:module:jar", resolution.getModuleKey());
+        assertEquals("org.test:module:jar:1.0", resolution.getArtifactId());
+        assertEquals(Collections.singleton("org.test:dependency:jar:1.0"), resolution.getDependencies());
+        assertEquals(Collections.singletonMap("org.test:dependency:jar", artifactFile.getAbsoluteFile()), resolution.getArtifacts());
+    }
+
+    @Test
+    public void testChangedFiles() throws Exception {
+        File jarFile = createFile("module.jar", "module");
+        File artifactFile = createFile("dependency.jar", "dependency");
+        DependencyResolutionIndex index = DependencyResolutionIndex.read(folder.getRoot().toPath().resolve("dependencies.index"));
+        index.put(createResolution(jarFile, artifactFile));
+
+        // Same module content with another timestamp is still valid
+        assertTrue(jarFile.setLastModified(jarFile.lastModified() - 10000));
+        assertNotNull(index.get(jarFile));
+
+        Files.write(artifactFile.toPath(), "updated dependency".getBytes(StandardCharsets.UTF_8));
+        assertNull(index.get(jarFile));
+
+        index.put(createResolution(jarFile, artifactFile));
+        Files.write(jarFile.toPath(), "updated module".getBytes(StandardCharsets.UTF_8));
+        assertNull(index.get(jarFile));
+    }
+
+    @Test
+    public void testRetainModules() throws Exception {
+        File jarFile = createFile("module.jar", "module");
+        File otherJarFile = createFile("other.jar", "other");
+        File artifactFile = createFile("dependency.jar", "dependency");
+        Path indexFile = folder.getRoot().toPath().resolve("dependencies.index");
+        DependencyResolutionIndex index = DependencyResolutionIndex.read(indexFile);
+        index.put(createResolution(jarFile, artifactFile));
+        index.put(createResolution(otherJarFile, artifactFile));
+        index.write(indexFile);
+
+        index.retainModules(Arrays.asList(jarFile));
+
+        assertTrue(index.isModified());
+        assertNotNull(index.get(jarFile));
+        assertNull(index.get(otherJarFile));
+    }
+
+    @Test
+    public void testInvalidFileIgnored() throws Exception {
+        File jarFile = createFile("module.jar", "module");
+        File indexFile = createFile("dependencies.index", "invalid content");
+
+        assertNull(DependencyResolutionIndex.read(indexFile.toPath()).get(jarFile));
+    }
+}
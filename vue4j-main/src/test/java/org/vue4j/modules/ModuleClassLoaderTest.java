@@ -0,0 +1,123 @@
+package org.vue4j.modules;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of ModuleClassLoader resources lookup from JAR files and classes directories.
+ *
+ * @author Vincent Migot
+ */
+public class ModuleClassLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File createJar(String name, String entry, String content) throws IOException {
+        File jarFile = folder.newFile(name);
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jarFile.toPath()))) {
+            out.putNextEntry(new JarEntry(entry));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        return jarFile;
+    }
+
+    private static void writeFile(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        assertNotNull(in);
+        try (InputStream stream = in) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testJarResource() throws Exception {
+        File jarFile = createJar("module.jar", "module/resource.txt", "jar content");
+
+        try (ModuleClassLoader classLoader = new ModuleClassLoader(getClass().getClassLoader())) {
+            classLoader.addURLs(Arrays.asList(jarFile.toURI().toURL()));
+
+            assertEquals("jar content", read(classLoader.getResourceAsStream("module/resource.txt")));
+            assertNotNull(classLoader.getResource("module/resource.txt"));
+            assertNull(classLoader.getResourceAsStream("module/missing.txt"));
+            assertNull(classLoader.getResourceAsStream("missing/resource.txt"));
+        }
+    }
+
+    @Test
+    public void testDirectoryResourceWrittenAfterAdd() throws Exception {
+        File directory = folder.newFolder("classes");
+
+        try (ModuleClassLoader classLoader = new ModuleClassLoader(getClass().getClassLoader())) {
+            classLoader.addURLs(Arrays.asList(directory.toURI().toURL()));
+            assertNull(classLoader.getResourceAsStream("generated/resource.txt"));
+
+            writeFile(directory.toPath().resolve("generated/resource.txt"), "directory content");
+
+            assertEquals("directory content", read(classLoader.getResourceAsStream("generated/resource.txt")));
+            URL resource = classLoader.getResource("generated/resource.txt");
+            assertNotNull(resource);
+            assertEquals("directory content", read(resource.openStream()));
+        }
+    }
+
+    @Test
+    public void testSourcesOrder() throws Exception {
+        File directory = folder.newFolder("classes");
+        writeFile(directory.toPath().resolve("shared/resource.txt"), "directory content");
+        File jarFile = createJar("module.jar", "shared/resource.txt", "jar content");
+
+        try (ModuleClassLoader classLoader = new ModuleClassLoader(getClass().getClassLoader())) {
+            classLoader.addURLs(Arrays.asList(directory.toURI().toURL(), jarFile.toURI().toURL()));
+            assertEquals("directory content", read(classLoader.getResourceAsStream("shared/resource.txt")));
+        }
+
+        try (ModuleClassLoader classLoader = new ModuleClassLoader(getClass().getClassLoader())) {
+            classLoader.addURLs(Arrays.asList(jarFile.toURI().toURL(), directory.toURI().toURL()));
+            assertEquals("jar content", read(classLoader.getResourceAsStream("shared/resource.txt")));
+        }
+    }
+
+    @Test
+    public void testCloseReleasesStreams() throws Exception {
+        File jarFile = createJar("module.jar", "module/resource.txt", "jar content");
+
+        ModuleClassLoader classLoader = new ModuleClassLoader(getClass().getClassLoader());
+        classLoader.addURLs(Arrays.asList(jarFile.toURI().toURL()));
+        InputStream in = classLoader.getResourceAsStream("module/resource.txt");
+        assertNotNull(in);
+
+        classLoader.close();
+        try {
+            in.read();
+            fail("Resource stream must be closed with class loader");
+        } catch (IOException ex) {
+            // Expected
+        }
+        try (OutputStream out = Files.newOutputStream(jarFile.toPath())) {
+            // JAR file is released and can be replaced
+            out.write(0);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.vue4j.modules;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vue4j.modules.DependencyResolutionIndex.ModuleResolution;
+
+/**
+ * Tests of OfflineArtifactStore index format and artifacts storage.
+ *
+ * @author Vincent Migot
+ */
+public class OfflineArtifactStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File createFile(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        File jarFile = createFile("module.jar", "module");
+        File artifactFile = createFile("dependency.jar", "dependency");
+        Path storeDirectory = folder.getRoot().toPath().resolve("store");
+
+        Map<String, File> artifacts = new LinkedHashMap<>();
+        artifacts.put("org.test:dependency:jar", artifactFile);
+        OfflineArtifactStore store = new OfflineArtifactStore(storeDirectory);
+        store.add(new ModuleResolution(jarFile, "org.test:module:jar", "org.test:module:jar:1.0",
+                new LinkedHashSet<>(Arrays.asList("org.test:dependency:jar:1.0")), artifacts));
+        store.write();
+
+        // Original artifact is not needed anymore once stored
+        Files.delete(artifactFile.toPath());
+
+        ModuleResolution resolution = new OfflineArtifactStore(storeDirectory).get(jarFile);
+        assertEquals("org.test:module:jar", resolution.getModuleKey());
+        assertEquals("org.test:module:jar:1.0", resolution.getArtifactId());
+        assertEquals(Collections.singleton("org.test:dependency:jar:1.0"), resolution.getDependencies());
+        assertEquals(Collections.singleton("org.test:dependency:jar"), resolution.getArtifactKeys());
+
+        File storedFile = resolution.getArtifacts().get("org.test:dependency:jar");
+        assertTrue(storedFile.toPath().startsWith(storeDirectory));
+        assertNotEquals(artifactFile.getAbsoluteFile(), storedFile.getAbsoluteFile());
+        assertEquals("dependency", new String(Files.readAllBytes(storedFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnknownModule() throws Exception {
+        File jarFile = createFile("module.jar", "module");
+
+        new OfflineArtifactStore(folder.getRoot().toPath().resolve("store")).get(jarFile);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidIndex() throws Exception {
+        Path storeDirectory = folder.newFolder("store").toPath();
+        Files.write(storeDirectory.resolve("modules.index"), "invalid content".getBytes(StandardCharsets.UTF_8));
+
+        new OfflineArtifactStore(storeDirectory);
+    }
+}
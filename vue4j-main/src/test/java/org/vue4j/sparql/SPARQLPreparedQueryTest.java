@@ -0,0 +1,62 @@
+package org.vue4j.sparql;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.jena.arq.querybuilder.SelectBuilder;
+import org.apache.jena.arq.querybuilder.UpdateBuilder;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.vocabulary.RDFS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Tests of prepared select queries executions.
+ *
+ * @author Vincent Migot
+ */
+public class SPARQLPreparedQueryTest {
+
+    private final static Var URI_VAR = Var.alloc("uri");
+
+    private final static Var NAME_VAR = Var.alloc("name");
+
+    @Test
+    public void testExecuteWithParameters() {
+        Node first = NodeFactory.createURI("test:first");
+        Node second = NodeFactory.createURI("test:second");
+
+        try (SPARQLService sparql = SPARQLService.createInMemory()) {
+            sparql.executeUpdateQuery(new UpdateBuilder()
+                    .addInsert(first, RDFS.label, "First")
+                    .addInsert(second, RDFS.label, "Second"));
+
+            SelectBuilder select = new SelectBuilder()
+                    .addVar(NAME_VAR)
+                    .addWhere(URI_VAR, RDFS.label, NAME_VAR);
+            SPARQLPreparedQuery query = new SPARQLPreparedQuery(select, URI_VAR);
+
+            assertEquals("First", getNames(sparql, query, first).get(0));
+            assertEquals("Second", getNames(sparql, query, second).get(0));
+            assertTrue(getNames(sparql, query, NodeFactory.createURI("test:unknown")).isEmpty());
+            assertEquals(2, getNames(sparql, query, (Node) null).size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParametersCount() {
+        SelectBuilder select = new SelectBuilder()
+                .addVar(NAME_VAR)
+                .addWhere(URI_VAR, RDFS.label, NAME_VAR);
+
+        new SPARQLPreparedQuery(select, URI_VAR).bind();
+    }
+
+    private static List<String> getNames(SPARQLService sparql, SPARQLPreparedQuery query, Node... parameters) {
+        List<String> names = new ArrayList<>();
+        sparql.executeSelectQuery(query, (result) -> names.add(result.getStringValue(NAME_VAR.getVarName())), parameters);
+        return names;
+    }
+}
@@ -0,0 +1,62 @@
+package org.vue4j.utils;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Runner;
+import org.junit.runners.ParentRunner;
+import org.reflections.Reflections;
+
+/**
+ * Tests of ReflectionsCache scans and cache file format, using JUnit JAR as scanned JAR.
+ *
+ * @author Vincent Migot
+ */
+public class ReflectionsCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static URL getJUnitJarURL() {
+        return Runner.class.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Set<URL> urls = Collections.singleton(getJUnitJarURL());
+        Path cacheFile = folder.getRoot().toPath().resolve("reflections.cache");
+
+        ReflectionsCache cache = ReflectionsCache.read(cacheFile);
+        Set<Class<? extends Runner>> scannedRunners = cache.getReflections(urls, Runnable::run).getSubTypesOf(Runner.class);
+        assertTrue(scannedRunners.contains(ParentRunner.class));
+        assertTrue(cache.isModified());
+
+        cache.write(cacheFile);
+        assertFalse(cache.isModified());
+
+        ReflectionsCache readCache = ReflectionsCache.read(cacheFile);
+        Reflections cachedReflections = readCache.getReflections(urls, (command) -> {
+            throw new AssertionError("Unchanged JAR must not be scanned again");
+        });
+        assertEquals(scannedRunners, cachedReflections.getSubTypesOf(Runner.class));
+        assertFalse(readCache.isModified());
+    }
+
+    @Test
+    public void testInvalidFileIgnored() throws Exception {
+        Path cacheFile = folder.getRoot().toPath().resolve("reflections.cache");
+        Files.write(cacheFile, new byte[]{1, 2, 3});
+
+        ReflectionsCache cache = ReflectionsCache.read(cacheFile);
+        assertFalse(cache.isModified());
+        assertFalse(cache.getReflections(Collections.singleton(getJUnitJarURL()), Runnable::run).getSubTypesOf(Runner.class).isEmpty());
+    }
+}
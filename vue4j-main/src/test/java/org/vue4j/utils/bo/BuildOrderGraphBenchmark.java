@@ -0,0 +1,79 @@
+package org.vue4j.utils.bo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <pre>
+ * Benchmark of BuildOrderGraph sort on random acyclic graphs.
+ *
+ * Each item depends on up to 5 random items created before it, graph is built
+ * from items in shuffled order. Median time of graph construction, which
+ * sorts items, is printed for each size.
+ *
+ * Usage: BuildOrderGraphBenchmark [size...]
+ * Default sizes: 1000 10000 100000
+ * </pre>
+ *
+ * @author Vincent Migot
+ */
+public class BuildOrderGraphBenchmark {
+
+    private final static int DEPENDENCIES_BY_ITEM = 5;
+
+    private final static int WARMUP_ITERATIONS = 5;
+
+    private final static int ITERATIONS = 11;
+
+    private final static long SEED = 42;
+
+    public static void main(String[] args) throws BuildOrderUnsolvableException {
+        int[] sizes = args.length == 0
+                ? new int[]{1_000, 10_000, 100_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        for (int size : sizes) {
+            Random random = new Random(SEED);
+            List<String> items = new ArrayList<>(size);
+            Map<String, Set<String>> dependencies = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                String item = "item-" + i;
+                Set<String> itemDependencies = new HashSet<>();
+                for (int j = 0; j < DEPENDENCIES_BY_ITEM && i > 0; j++) {
+                    itemDependencies.add(items.get(random.nextInt(i)));
+                }
+                items.add(item);
+                dependencies.put(item, itemDependencies);
+            }
+            Collections.shuffle(items, random);
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                new BuildOrderGraph<>(items, dependencies);
+            }
+
+            long[] durations = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                BuildOrderGraph<String> graph = new BuildOrderGraph<>(items, dependencies);
+                durations[i] = System.nanoTime() - start;
+                if (graph.getItems().size() != size) {
+                    throw new IllegalStateException("Unexpected sorted items count: " + graph.getItems().size());
+                }
+            }
+            Arrays.sort(durations);
+
+            System.out.println(String.format("%,9d items, %,9d dependencies: %,8.2f ms (min %,8.2f ms)",
+                    size,
+                    dependencies.values().stream().mapToInt(Set::size).sum(),
+                    durations[ITERATIONS / 2] / 1_000_000.0,
+                    durations[0] / 1_000_000.0));
+        }
+    }
+}
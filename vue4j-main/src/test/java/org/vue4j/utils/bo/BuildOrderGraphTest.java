@@ -0,0 +1,196 @@
+package org.vue4j.utils.bo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of BuildOrderGraph sort and dependency graph executions.
+ *
+ * @author Vincent Migot
+ */
+public class BuildOrderGraphTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void createExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Diamond graph: B and C depend on A, D depends on B and C, E is independent.
+     */
+    private static Map<String, List<String>> diamondDependencies() {
+        Map<String, List<String>> dependencies = new HashMap<>();
+        dependencies.put("B", Arrays.asList("A"));
+        dependencies.put("C", Arrays.asList("A"));
+        dependencies.put("D", Arrays.asList("B", "C"));
+        return dependencies;
+    }
+
+    private static BuildOrderGraph<String> diamondGraph() throws BuildOrderUnsolvableException {
+        return new BuildOrderGraph<>(Arrays.asList("D", "C", "B", "A", "E"), diamondDependencies());
+    }
+
+    private static void assertAfterDependencies(List<String> order, Map<String, List<String>> dependencies) {
+        dependencies.forEach((item, itemDependencies) -> {
+            for (String dependency : itemDependencies) {
+                assertTrue(dependency + " must be before " + item + " in " + order, order.indexOf(dependency) < order.indexOf(item));
+            }
+        });
+    }
+
+    @Test
+    public void testSortOrder() throws Exception {
+        List<String> items = diamondGraph().getItems();
+
+        assertEquals(5, items.size());
+        assertAfterDependencies(items, diamondDependencies());
+    }
+
+    @Test
+    public void testExecuteAfterDependencies() throws Exception {
+        Set<String> done = ConcurrentHashMap.newKeySet();
+        Map<String, List<String>> dependencies = diamondDependencies();
+
+        diamondGraph().execute((item) -> {
+            for (String dependency : dependencies.getOrDefault(item, Collections.emptyList())) {
+                assertTrue(dependency + " must be done before " + item, done.contains(dependency));
+            }
+            done.add(item);
+        }, executor);
+
+        assertEquals(5, done.size());
+    }
+
+    @Test
+    public void testExecuteReverseBeforeDependencies() throws Exception {
+        Set<String> done = ConcurrentHashMap.newKeySet();
+        Map<String, Collection<String>> dependents = new HashMap<>();
+        diamondDependencies().forEach((item, itemDependencies) -> {
+            itemDependencies.forEach((dependency) -> dependents.computeIfAbsent(dependency, (key) -> new ArrayList<>()).add(item));
+        });
+
+        diamondGraph().executeReverse((item) -> {
+            for (String dependent : dependents.getOrDefault(item, Collections.emptyList())) {
+                assertTrue(dependent + " must be done before " + item, done.contains(dependent));
+            }
+            done.add(item);
+        }, executor);
+
+        assertEquals(5, done.size());
+    }
+
+    @Test
+    public void testCycleReported() {
+        Map<String, List<String>> dependencies = new HashMap<>();
+        dependencies.put("A", Arrays.asList("B"));
+        dependencies.put("B", Arrays.asList("C"));
+        dependencies.put("C", Arrays.asList("A"));
+        dependencies.put("D", Arrays.asList("A"));
+
+        try {
+            new BuildOrderGraph<>(Arrays.asList("D", "A", "B", "C", "E"), dependencies);
+            fail("Cyclic dependencies must not be sorted");
+        } catch (BuildOrderUnsolvableException ex) {
+            List<String> cycle = ex.getCycle();
+            assertEquals(3, cycle.size());
+            for (int i = 0; i < cycle.size(); i++) {
+                String next = cycle.get((i + 1) % cycle.size());
+                assertEquals(Arrays.asList(next), dependencies.get(cycle.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testSkipDependentsOfFailedItem() throws Exception {
+        BuildOrderResult<String> result = diamondGraph().executeChecked((item) -> !item.equals("B"), executor);
+
+        assertFalse(result.isSuccess());
+        assertEquals(Collections.singleton("B"), result.getFailedItems());
+        assertEquals(Collections.singleton("D"), result.getSkippedItems());
+        assertEquals("B", result.getSkipCause("D"));
+        assertEquals(new HashSet<>(Arrays.asList("A", "B", "C", "E")), result.getExecutedItems());
+    }
+
+    @Test
+    public void testSkipTransitiveDependents() throws Exception {
+        BuildOrderResult<String> result = diamondGraph().executeChecked((item) -> !item.equals("A"), executor);
+
+        assertEquals(Collections.singleton("A"), result.getFailedItems());
+        assertEquals(new HashSet<>(Arrays.asList("B", "C", "D")), result.getSkippedItems());
+        for (String skipped : result.getSkippedItems()) {
+            assertEquals("A", result.getSkipCause(skipped));
+        }
+        assertEquals(new HashSet<>(Arrays.asList("A", "E")), result.getExecutedItems());
+    }
+
+    @Test
+    public void testRejectedItemsFailed() throws Exception {
+        ExecutorService stoppedExecutor = Executors.newSingleThreadExecutor();
+        stoppedExecutor.shutdown();
+
+        BuildOrderResult<String> result = diamondGraph().executeChecked((item) -> true, stoppedExecutor);
+
+        assertEquals(new HashSet<>(Arrays.asList("A", "E")), result.getFailedItems());
+        assertEquals(new HashSet<>(Arrays.asList("B", "C", "D")), result.getSkippedItems());
+        assertTrue(result.getExecutedItems().isEmpty());
+        assertTrue(result.getFirstFailure() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void testDeepChainExecution() throws Exception {
+        int size = 100000;
+        List<String> items = new ArrayList<>(size);
+        Map<String, List<String>> dependencies = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String item = "item" + i;
+            if (i > 0) {
+                dependencies.put(item, Arrays.asList(items.get(i - 1)));
+            }
+            items.add(item);
+        }
+        Collections.reverse(items);
+
+        AtomicInteger count = new AtomicInteger();
+        new BuildOrderGraph<>(items, dependencies).execute((item) -> count.incrementAndGet(), Runnable::run);
+
+        assertEquals(size, count.get());
+    }
+
+    @Test
+    public void testNestedExecution() throws Exception {
+        Set<String> done = ConcurrentHashMap.newKeySet();
+        BuildOrderGraph<String> graph = diamondGraph();
+
+        graph.execute((item) -> {
+            graph.execute((nestedItem) -> done.add(item + nestedItem), executor);
+        }, executor);
+
+        assertEquals(25, done.size());
+    }
+}